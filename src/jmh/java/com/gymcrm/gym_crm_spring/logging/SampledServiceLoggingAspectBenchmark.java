@@ -0,0 +1,73 @@
+package com.gymcrm.gym_crm_spring.logging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Per-call overhead of {@link SampledServiceLoggingAspect}. Compare {@code unsampled}
+ * against {@code baseline} (same join point, no aspect); the difference must stay
+ * well below 1 microsecond.
+ */
+@State(Scope.Benchmark)
+public class SampledServiceLoggingAspectBenchmark {
+
+    private static final Object RESULT = new Object();
+
+    private ProceedingJoinPoint joinPoint;
+    private SampledServiceLoggingAspect unsampledAspect;
+    private SampledServiceLoggingAspect sampledAspect;
+    private AsyncLogEmitter emitter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Signature signature = (Signature) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{Signature.class},
+                (proxy, method, args) -> method.getName().equals("toShortString") ? "GymFacade.login(..)" : null);
+
+        Object[] args = {"john.doe", "secret"};
+        joinPoint = (ProceedingJoinPoint) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{ProceedingJoinPoint.class},
+                (proxy, method, methodArgs) -> switch (method.getName()) {
+                    case "proceed" -> RESULT;
+                    case "getArgs" -> args;
+                    case "getSignature" -> signature;
+                    default -> null;
+                });
+
+        SafeLogRenderer renderer = new SafeLogRenderer(512, 10);
+        emitter = new AsyncLogEmitter(10_000, new SimpleMeterRegistry(), new MdcTaskDecorator());
+        unsampledAspect = new SampledServiceLoggingAspect(0.0, renderer, emitter);
+        sampledAspect = new SampledServiceLoggingAspect(1.0, renderer, emitter);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        emitter.destroy();
+    }
+
+    @Benchmark
+    public Object baseline() throws Throwable {
+        return joinPoint.proceed();
+    }
+
+    @Benchmark
+    public Object unsampled() throws Throwable {
+        return unsampledAspect.trace(joinPoint);
+    }
+
+    @Benchmark
+    public Object sampled() throws Throwable {
+        return sampledAspect.trace(joinPoint);
+    }
+}
@@ -0,0 +1,72 @@
+package com.gymcrm.gym_crm_spring.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Cost of dispatching a {@link RequireAuthentication} method through the
+ * {@link AuthenticationAspect} proxy, against a direct call and an unannotated
+ * method on the same proxy.
+ */
+@State(Scope.Thread)
+public class AuthenticationAspectBenchmark {
+
+    private SecuredTarget direct;
+    private SecuredTarget proxied;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TokenStore tokenStore = new TokenStore();
+        String token = tokenStore.createToken("john.doe");
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Auth-Token", token);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        direct = new SecuredTarget();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SecuredTarget());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new AuthenticationAspect(tokenStore));
+        proxied = factory.getProxy();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public int direct() {
+        return direct.secured();
+    }
+
+    @Benchmark
+    public int proxiedUnannotated() {
+        return proxied.open();
+    }
+
+    @Benchmark
+    public int proxiedAuthenticated() {
+        return proxied.secured();
+    }
+
+    public static class SecuredTarget {
+
+        @RequireAuthentication
+        public int secured() {
+            return 1;
+        }
+
+        public int open() {
+            return 1;
+        }
+    }
+}
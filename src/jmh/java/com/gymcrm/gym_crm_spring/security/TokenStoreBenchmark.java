@@ -0,0 +1,61 @@
+package com.gymcrm.gym_crm_spring.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link TokenStore} under contention: a read-heavy mix of token validation with
+ * concurrent logins, plus each operation alone on 8 threads.
+ */
+@State(Scope.Benchmark)
+public class TokenStoreBenchmark {
+
+    private static final int PREFILLED_TOKENS = 10_000;
+
+    private TokenStore tokenStore;
+    private String[] tokens;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        tokenStore = new TokenStore();
+        tokens = new String[PREFILLED_TOKENS];
+        for (int i = 0; i < PREFILLED_TOKENS; i++) {
+            tokens[i] = tokenStore.createToken("user" + i);
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public String mixedCreate() {
+        return tokenStore.createToken("user" + ThreadLocalRandom.current().nextInt(PREFILLED_TOKENS));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(6)
+    public Optional<String> mixedValidate() {
+        return tokenStore.validateToken(tokens[ThreadLocalRandom.current().nextInt(PREFILLED_TOKENS)]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String createToken() {
+        return tokenStore.createToken("user" + ThreadLocalRandom.current().nextInt(PREFILLED_TOKENS));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Optional<String> validateToken() {
+        return tokenStore.validateToken(tokens[ThreadLocalRandom.current().nextInt(PREFILLED_TOKENS)]);
+    }
+}
@@ -0,0 +1,77 @@
+package com.gymcrm.gym_crm_spring.service;
+
+import com.gymcrm.gym_crm_spring.dao.TraineeDao;
+import com.gymcrm.gym_crm_spring.dao.TrainerDao;
+import com.gymcrm.gym_crm_spring.dao.TrainingDao;
+import com.gymcrm.gym_crm_spring.domain.Trainee;
+import com.gymcrm.gym_crm_spring.domain.Trainer;
+import com.gymcrm.gym_crm_spring.domain.TrainingType;
+import com.gymcrm.gym_crm_spring.domain.User;
+import com.gymcrm.gym_crm_spring.dto.TraineeProfileResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Entity-to-DTO mapping in {@link TraineeService#getProfile} with the DAO replaced by
+ * an in-memory stub, so only the mapping and allocation cost is measured.
+ */
+@State(Scope.Benchmark)
+public class TraineeProfileMappingBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int assignedTrainers;
+
+    private TraineeService traineeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TrainingType specialization = TrainingType.builder().trainingTypeName("Yoga").build();
+
+        Set<Trainer> trainers = new HashSet<>();
+        for (int i = 0; i < assignedTrainers; i++) {
+            trainers.add(Trainer.builder()
+                    .user(user("Trainer" + i, "Smith"))
+                    .specialization(specialization)
+                    .build());
+        }
+
+        Trainee trainee = Trainee.builder()
+                .user(user("John", "Doe"))
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .address("New York")
+                .assignedTrainers(trainers)
+                .build();
+
+        TraineeDao traineeDao = new TraineeDao() {
+            @Override
+            public Optional<Trainee> findByUsername(String username) {
+                return Optional.of(trainee);
+            }
+        };
+        traineeService = new TraineeService(traineeDao, new TrainerDao(), new TrainingService(new TrainingDao()));
+    }
+
+    @Benchmark
+    public TraineeProfileResponse getProfile() {
+        return traineeService.getProfile("john.doe");
+    }
+
+    private static User user(String firstName, String lastName) {
+        return User.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .username(firstName.toLowerCase() + "." + lastName.toLowerCase())
+                .password("hash")
+                .active(true)
+                .build();
+    }
+}
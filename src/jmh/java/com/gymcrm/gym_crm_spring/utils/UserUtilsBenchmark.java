@@ -0,0 +1,60 @@
+package com.gymcrm.gym_crm_spring.utils;
+
+import com.gymcrm.gym_crm_spring.domain.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+public class UserUtilsBenchmark {
+
+    private static final int COLLISIONS = 50;
+
+    @Param({"10000", "100000", "1000000"})
+    public int existingUsers;
+
+    private List<User> users;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        users = new ArrayList<>(existingUsers);
+        for (int i = 0; i < COLLISIONS; i++) {
+            users.add(User.builder().username(i == 0 ? "john.doe" : "john.doe" + i).build());
+        }
+        for (int i = users.size(); i < existingUsers; i++) {
+            users.add(User.builder().username("first" + (i % 1000) + ".last" + (i / 1000)).build());
+        }
+    }
+
+    @Benchmark
+    public String generateUsernameWithCollisions() {
+        return UserUtils.generateUsername("John", "Doe", users);
+    }
+
+    @Benchmark
+    public String generateUsernameFree() {
+        return UserUtils.generateUsername("Jane", "Roe", users);
+    }
+
+    @Benchmark
+    public String generatePassword() {
+        return UserUtils.generatePassword();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String encodePassword() {
+        return UserUtils.encodePassword("s3cretPass");
+    }
+}
@@ -0,0 +1,100 @@
+package com.gymcrm.gym_crm_spring.web;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gymcrm.gym_crm_spring.dto.TraineeTrainingResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding cost of a training-history response ({@code GET /api/trainee/trainings}) per wire
+ * format, with gzip applied the way {@code server.compression} would. Bytes on the wire for
+ * each combination are printed once per trial; the benchmarks give the CPU per response on
+ * the server ({@link #encode}) and on the client ({@link #decode}).
+ */
+@State(Scope.Benchmark)
+public class ResponseEncodingBenchmark {
+
+    public enum Format {
+        JSON, JSON_GZIP, SMILE, SMILE_GZIP, CBOR, CBOR_GZIP;
+
+        ObjectMapper mapper() {
+            Jackson2ObjectMapperBuilder builder = switch (this) {
+                case JSON, JSON_GZIP -> Jackson2ObjectMapperBuilder.json();
+                case SMILE, SMILE_GZIP -> Jackson2ObjectMapperBuilder.smile();
+                case CBOR, CBOR_GZIP -> Jackson2ObjectMapperBuilder.cbor();
+            };
+            // same date handling as the Boot-configured mapper
+            return builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        }
+
+        boolean gzip() {
+            return name().endsWith("_GZIP");
+        }
+    }
+
+    @Param({"10", "1000"})
+    public int rows;
+
+    @Param
+    public Format format;
+
+    private ObjectMapper mapper;
+    private JavaType listType;
+    private List<TraineeTrainingResponse> trainings;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mapper = format.mapper();
+        listType = mapper.getTypeFactory().constructCollectionType(List.class, TraineeTrainingResponse.class);
+
+        String[] types = {"Yoga", "Strength", "Cardio", "Stretching"};
+        trainings = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            trainings.add(new TraineeTrainingResponse(
+                    "Session " + i,
+                    LocalDate.of(2024, 1, 1).plusDays(i % 365),
+                    types[i % types.length],
+                    30 + (i % 4) * 15,
+                    "Trainer" + (i % 25) + ".Smith"));
+        }
+
+        encoded = encode();
+        System.out.printf("%n%s, %d rows: %d bytes on the wire%n", format, rows, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (OutputStream out = format.gzip() ? new GZIPOutputStream(buffer) : buffer) {
+            mapper.writeValue(out, trainings);
+        }
+        return buffer.toByteArray();
+    }
+
+    @Benchmark
+    public List<TraineeTrainingResponse> decode() throws IOException {
+        InputStream bytes = new ByteArrayInputStream(encoded);
+        try (InputStream in = format.gzip() ? new GZIPInputStream(bytes) : bytes) {
+            return mapper.readValue(in, listType);
+        }
+    }
+}
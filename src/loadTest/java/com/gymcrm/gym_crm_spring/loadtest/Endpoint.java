@@ -0,0 +1,43 @@
+package com.gymcrm.gym_crm_spring.loadtest;
+
+/**
+ * Operations in the workload mix, with their relative weights.
+ */
+public enum Endpoint {
+    REGISTER(5),
+    LOGIN(15),
+    GET_PROFILE(35),
+    UPDATE_TRAINERS(10),
+    ADD_TRAINING(15),
+    LIST_TRAININGS(20);
+
+    private static final int TOTAL_WEIGHT = totalWeight();
+
+    private final int weight;
+
+    Endpoint(int weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * Picks an endpoint according to the weights for a roll in {@code [0, 100)}.
+     */
+    public static Endpoint pick(int roll) {
+        int bound = roll % TOTAL_WEIGHT;
+        for (Endpoint endpoint : values()) {
+            bound -= endpoint.weight;
+            if (bound < 0) {
+                return endpoint;
+            }
+        }
+        return GET_PROFILE;
+    }
+
+    private static int totalWeight() {
+        int total = 0;
+        for (Endpoint endpoint : values()) {
+            total += endpoint.weight;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,52 @@
+package com.gymcrm.gym_crm_spring.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms (microseconds) and error counters, safe to record
+ * into from many worker threads.
+ */
+public class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<Endpoint, Recorder> recorders = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+
+    public LatencyRecorder() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(endpoint, new LongAdder());
+        }
+    }
+
+    public void record(Endpoint endpoint, long nanos, boolean success) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS);
+        recorders.get(endpoint).recordValue(micros);
+        if (!success) {
+            errors.get(endpoint).increment();
+        }
+    }
+
+    /**
+     * Drops everything recorded so far, e.g. at the end of the warm-up phase.
+     */
+    public void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    public Histogram snapshot(Endpoint endpoint) {
+        return recorders.get(endpoint).getIntervalHistogram();
+    }
+
+    public long errors(Endpoint endpoint) {
+        return errors.get(endpoint).sum();
+    }
+}
@@ -0,0 +1,89 @@
+package com.gymcrm.gym_crm_spring.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Turns the measured histograms into a console/text summary, a CSV for diffing builds,
+ * and one {@code .hgrm} percentile distribution per endpoint (plottable with the
+ * HdrHistogram plotter).
+ */
+public class LatencyReport {
+
+    public record Row(Endpoint endpoint, long count, long errors, double throughput,
+                      double p50Ms, double p99Ms, double p999Ms, double maxMs) {}
+
+    private final List<Row> rows = new ArrayList<>();
+    private final List<Histogram> histograms = new ArrayList<>();
+    private final LoadTestSettings settings;
+
+    public LatencyReport(LatencyRecorder recorder, LoadTestSettings settings, Duration measured) {
+        this.settings = settings;
+        double seconds = measured.toNanos() / 1e9;
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = recorder.snapshot(endpoint);
+            histograms.add(histogram);
+            rows.add(new Row(endpoint,
+                    histogram.getTotalCount(),
+                    recorder.errors(endpoint),
+                    histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue())));
+        }
+    }
+
+    public List<Row> rows() {
+        return rows;
+    }
+
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "mode=%s threads=%d warmup=%ds duration=%ds trainers=%d trainees=%d%n",
+                settings.mode(), settings.threads(), settings.warmup().toSeconds(), settings.duration().toSeconds(),
+                settings.trainers(), settings.trainees()));
+        sb.append(String.format(Locale.ROOT, "%-16s %10s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Row row : rows) {
+            sb.append(String.format(Locale.ROOT, "%-16s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    row.endpoint(), row.count(), row.errors(), row.throughput(),
+                    row.p50Ms(), row.p99Ms(), row.p999Ms(), row.maxMs()));
+        }
+        return sb.toString();
+    }
+
+    public void write(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("summary.txt"), summary(), StandardCharsets.UTF_8);
+
+        StringBuilder csv = new StringBuilder("endpoint,count,errors,throughput_per_s,p50_ms,p99_ms,p999_ms,max_ms\n");
+        for (Row row : rows) {
+            csv.append(String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f%n",
+                    row.endpoint(), row.count(), row.errors(), row.throughput(),
+                    row.p50Ms(), row.p99Ms(), row.p999Ms(), row.maxMs()));
+        }
+        Files.writeString(dir.resolve("summary.csv"), csv, StandardCharsets.UTF_8);
+
+        for (int i = 0; i < rows.size(); i++) {
+            Path file = dir.resolve(rows.get(i).endpoint().name().toLowerCase(Locale.ROOT) + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+                // recorded in microseconds, reported in milliseconds
+                histograms.get(i).outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,146 @@
+package com.gymcrm.gym_crm_spring.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thin blocking HTTP client for the REST API; every call is timed into the
+ * {@link LatencyRecorder} under its {@link Endpoint}.
+ */
+public class LoadTestClient {
+
+    private static final String TOKEN_HEADER = "X-Auth-Token";
+
+    private final HttpClient http;
+    private final ObjectMapper mapper;
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+
+    public LoadTestClient(HttpClient http, ObjectMapper mapper, String baseUrl, LatencyRecorder recorder) {
+        this.http = http;
+        this.mapper = mapper;
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+    }
+
+    public record Credentials(String username, String password) {}
+
+    public Credentials registerTrainee(String firstName, String lastName) {
+        var body = Map.of("firstName", firstName, "lastName", lastName,
+                "dateOfBirth", "1990-01-01", "address", "Load street 1");
+        JsonNode json = readJson(send(Endpoint.REGISTER, post("/api/auth/register/trainee", body)));
+        return new Credentials(json.get("username").asText(), json.get("password").asText());
+    }
+
+    public Credentials registerTrainer(String firstName, String lastName, String specialization) {
+        var body = Map.of("firstName", firstName, "lastName", lastName, "specializationName", specialization);
+        JsonNode json = readJson(send(Endpoint.REGISTER, post("/api/auth/register/trainer", body)));
+        return new Credentials(json.get("username").asText(), json.get("password").asText());
+    }
+
+    public String login(Credentials credentials) {
+        var request = request("/api/auth/login?username=" + encode(credentials.username())
+                + "&password=" + encode(credentials.password())).GET().build();
+        return send(Endpoint.LOGIN, request).body();
+    }
+
+    public void getTraineeProfile(String token, String username) {
+        send(Endpoint.GET_PROFILE, authorized(token, "/api/trainee/profile?username=" + encode(username)).GET().build());
+    }
+
+    public void updateTrainerList(String token, String traineeUsername, List<String> trainerUsernames) {
+        var body = Map.of("traineeUsername", traineeUsername, "trainersUsernames", trainerUsernames);
+        send(Endpoint.UPDATE_TRAINERS, authorized(token, "/api/trainee/trainers")
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(toJson(body)))
+                .build());
+    }
+
+    public void addTraining(String token, String traineeUsername, String trainerUsername, LocalDate date, int minutes) {
+        var body = Map.of("traineeUsername", traineeUsername, "trainerUsername", trainerUsername,
+                "trainingName", "Load session", "trainingDate", date.toString(), "trainingDuration", minutes);
+        send(Endpoint.ADD_TRAINING, authorized(token, "/api/training/add")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(body)))
+                .build());
+    }
+
+    public void listTraineeTrainings(String token, String username) {
+        send(Endpoint.LIST_TRAININGS, authorized(token, "/api/trainee/trainings?username=" + encode(username)).GET().build());
+    }
+
+    private HttpResponse<String> send(Endpoint endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            success = response.statusCode() / 100 == 2;
+            if (!success) {
+                throw new LoadTestException(endpoint + " returned " + response.statusCode() + ": " + response.body());
+            }
+            return response;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LoadTestException(endpoint + " interrupted");
+        } finally {
+            recorder.record(endpoint, System.nanoTime() - start, success);
+        }
+    }
+
+    private HttpRequest post(String path, Object body) {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(String token, String path) {
+        return request(path).header(TOKEN_HEADER, token);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+    }
+
+    private String toJson(Object body) {
+        try {
+            return mapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonNode readJson(HttpResponse<String> response) {
+        try {
+            return mapper.readTree(response.body());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    public static class LoadTestException extends RuntimeException {
+        public LoadTestException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.gymcrm.gym_crm_spring.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gymcrm.gym_crm_spring.GymCrmSpringApplication;
+import com.gymcrm.gym_crm_spring.loadtest.LoadTestClient.Credentials;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Boots the application on an in-memory H2 database (PostgreSQL mode), seeds trainers and
+ * trainees through the public API and drives the weighted {@link Endpoint} mix from a fixed
+ * pool of client threads. Latencies recorded during the warm-up are discarded.
+ * <p>
+ * Each client thread issues its next request only after the previous one completed (closed
+ * loop), so the throughput is what {@code threads} concurrent users saturate at and the tail
+ * percentiles understate what an open-loop arrival rate would see.
+ */
+@Slf4j
+public class LoadTestRunner {
+
+    private static final List<String> TRAINING_TYPES = List.of("Yoga", "Crossfit", "Boxing");
+    private static final String RUN_TAG = Long.toString(System.currentTimeMillis(), 36);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        SpringApplication application = new SpringApplication(GymCrmSpringApplication.class);
+
+        try (ConfigurableApplicationContext context = application.run("--spring.profiles.active=" + settings.profiles())) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            seedTrainingTypes(context.getBean(JdbcTemplate.class));
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            ExecutorService pool = Executors.newFixedThreadPool(settings.threads());
+            HttpClient http = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            LoadTestClient client = new LoadTestClient(http, context.getBean(ObjectMapper.class),
+                    "http://localhost:" + port, recorder);
+
+            try {
+                LatencyReport report = new LoadTestRunner(settings, client, recorder).run(pool);
+                log.info("Load test results\n{}", report.summary());
+                Path reportDir = settings.reportDir().resolve(settings.mode());
+                report.write(reportDir);
+                log.info("Reports written to {}", reportDir.toAbsolutePath());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    private final LoadTestSettings settings;
+    private final LoadTestClient client;
+    private final LatencyRecorder recorder;
+    private final AtomicLong registrations = new AtomicLong();
+    private final AtomicBoolean running = new AtomicBoolean(true);
+
+    LoadTestRunner(LoadTestSettings settings, LoadTestClient client, LatencyRecorder recorder) {
+        this.settings = settings;
+        this.client = client;
+        this.recorder = recorder;
+    }
+
+    LatencyReport run(ExecutorService pool) throws Exception {
+        List<String> trainers = seed(pool, settings.trainers(), i -> client.registerTrainer(
+                "Trainer" + i, "Load" + RUN_TAG, TRAINING_TYPES.get(i % TRAINING_TYPES.size())).username());
+        List<Credentials> trainees = seed(pool, settings.trainees(), i -> client.registerTrainee(
+                "Trainee" + i, "Load" + RUN_TAG));
+        log.info("Seeded {} trainers and {} trainees", trainers.size(), trainees.size());
+
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < settings.threads(); t++) {
+            Credentials own = trainees.get(t % trainees.size());
+            workers.add(pool.submit(() -> work(own, trainers)));
+        }
+
+        TimeUnit.MILLISECONDS.sleep(settings.warmup().toMillis());
+        recorder.reset();
+        long measuredFrom = System.nanoTime();
+        TimeUnit.MILLISECONDS.sleep(settings.duration().toMillis());
+        running.set(false);
+        Duration measured = Duration.ofNanos(System.nanoTime() - measuredFrom);
+
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        return new LatencyReport(recorder, settings, measured);
+    }
+
+    private void work(Credentials credentials, List<String> trainers) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String token = client.login(credentials);
+        String username = credentials.username();
+
+        while (running.get()) {
+            Endpoint endpoint = Endpoint.pick(random.nextInt(100));
+            try {
+                switch (endpoint) {
+                    case REGISTER -> client.registerTrainee("Walkin" + registrations.incrementAndGet(), "Load" + RUN_TAG);
+                    case LOGIN -> token = client.login(credentials);
+                    case GET_PROFILE -> client.getTraineeProfile(token, username);
+                    case UPDATE_TRAINERS -> client.updateTrainerList(token, username, randomTrainers(trainers, random));
+                    case ADD_TRAINING -> client.addTraining(token, username,
+                            trainers.get(random.nextInt(trainers.size())),
+                            LocalDate.now().plusDays(random.nextInt(1, 60)),
+                            10 * random.nextInt(3, 13));
+                    case LIST_TRAININGS -> client.listTraineeTrainings(token, username);
+                }
+            } catch (RuntimeException e) {
+                // already counted as an error by the client; keep the mix going
+                log.debug("{} failed: {}", endpoint, e.getMessage());
+            }
+        }
+    }
+
+    private static <T> List<T> seed(ExecutorService pool, int count, IntFunction<T> step) throws Exception {
+        List<Future<T>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            futures.add(pool.submit(() -> step.apply(index)));
+        }
+        List<T> result = new ArrayList<>(count);
+        for (Future<T> future : futures) {
+            result.add(future.get());
+        }
+        return result;
+    }
+
+    private static List<String> randomTrainers(List<String> trainers, ThreadLocalRandom random) {
+        int size = Math.min(trainers.size(), random.nextInt(1, 4));
+        List<String> picked = new ArrayList<>(size);
+        while (picked.size() < size) {
+            String trainer = trainers.get(random.nextInt(trainers.size()));
+            if (!picked.contains(trainer)) {
+                picked.add(trainer);
+            }
+        }
+        return picked;
+    }
+
+    private static void seedTrainingTypes(JdbcTemplate jdbcTemplate) {
+        for (String name : TRAINING_TYPES) {
+            jdbcTemplate.update("insert into training_type (id, training_type_name) values (?, ?)",
+                    UUID.randomUUID(), name);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.gymcrm.gym_crm_spring.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load test knobs, read from {@code loadtest.*} system properties (the Gradle task
+ * forwards {@code -PloadTest.<name>=...}).
+ */
+public record LoadTestSettings(int threads,
+                               Duration warmup,
+                               Duration duration,
+                               int trainers,
+                               int trainees,
+                               boolean virtualThreads,
+                               Path reportDir) {
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.threads", 16),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 15L)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60L)),
+                Integer.getInteger("loadtest.trainers", 50),
+                Integer.getInteger("loadtest.trainees", 500),
+                Boolean.getBoolean("loadtest.virtual-threads"),
+                Path.of(System.getProperty("loadtest.report-dir", "build/reports/loadtest")));
+    }
+
+    /**
+     * Server threading mode, so platform and virtual-thread runs get separate report directories.
+     */
+    public String mode() {
+        return virtualThreads ? "virtual" : "platform";
+    }
+
+    public String profiles() {
+        return virtualThreads ? "loadtest,virtual" : "loadtest";
+    }
+}
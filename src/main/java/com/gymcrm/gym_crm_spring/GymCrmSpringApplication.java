@@ -2,6 +2,7 @@ package com.gymcrm.gym_crm_spring;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 
 
@@ -9,8 +10,13 @@ import org.springframework.context.annotation.EnableAspectJAutoProxy;
 @EnableAspectJAutoProxy(proxyTargetClass = true)
 public class GymCrmSpringApplication {
 
+    // startup steps kept for /actuator/startup; enough for a full context refresh
+    private static final int STARTUP_STEPS_CAPACITY = 4096;
+
     public static void main(String[] args) {
-        SpringApplication.run(GymCrmSpringApplication.class, args);
+        SpringApplication application = new SpringApplication(GymCrmSpringApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS_CAPACITY));
+        application.run(args);
     }
 }
 
@@ -0,0 +1,94 @@
+package com.gymcrm.gym_crm_spring.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over strings. {@link #mightContain} never returns {@code false}
+ * for a value that was {@link #put}; it returns {@code true} for an absent value with
+ * roughly the configured probability while no more than the expected number of values
+ * have been added.
+ */
+class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashFunctions;
+    private final long expectedInsertions;
+    private final AtomicLong insertions = new AtomicLong();
+
+    BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) / 64));
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.expectedInsertions = n;
+    }
+
+    void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            while (((current = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                // another writer changed the word, retry
+            }
+        }
+        insertions.incrementAndGet();
+    }
+
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long bit = index(h1 + i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * More values than the filter was sized for, so the false-positive rate is climbing.
+     */
+    boolean isSaturated() {
+        return insertions.get() > expectedInsertions;
+    }
+
+    long insertions() {
+        return insertions.get();
+    }
+
+    private long index(int combinedHash) {
+        // flip negative values instead of Math.abs, which stays negative for Integer.MIN_VALUE
+        int positive = combinedHash < 0 ? ~combinedHash : combinedHash;
+        return positive % bitCount;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes followed by a murmur3 finalizer; the two halves
+     * drive the double hashing above.
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
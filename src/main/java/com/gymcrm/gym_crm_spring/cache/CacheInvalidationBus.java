@@ -0,0 +1,302 @@
+package com.gymcrm.gym_crm_spring.cache;
+
+import com.gymcrm.gym_crm_spring.dao.CacheInvalidationDao;
+import com.gymcrm.gym_crm_spring.domain.CacheInvalidation;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carries {@link ProfileChangedEvent}s between nodes through the {@code cache_invalidation}
+ * outbox table.
+ * <p>
+ * Writing: the events published inside a transaction are collected and inserted just
+ * before it commits, as one JDBC batch, so the rows exist exactly when the change does.
+ * The insert bypasses JPA because the table's identity column would make Hibernate send
+ * every row on its own to read the generated id back.
+ * <p>
+ * Reading: one thread per node tails the table by id and re-publishes rows written by
+ * other nodes as local events (outside any transaction, so they reach the caches directly
+ * and are not written back). On PostgreSQL the thread waits on {@code LISTEN
+ * cache_invalidation} (fired by a trigger on insert) and polls at most every
+ * {@code poll-interval}; on other databases it just polls.
+ * <p>
+ * Ids are taken at insert but become visible at commit, so a lower id can appear after a
+ * higher one. The cursor only moves over an id once it has been seen or has been missing
+ * for {@code gap-timeout} (usually a rolled-back insert); skipped ids are re-checked until
+ * the rows would have been pruned anyway.
+ * <p>
+ * Usernames of remote registrations are added to the {@link UsernameIndex}, which trusts its
+ * absences only while these polls keep succeeding.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "gymcrm.cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheInvalidationBus implements DisposableBean {
+
+    private static final String CHANNEL = "cache_invalidation";
+    private static final int MAX_TRACKED_GAPS = 10_000;
+    // polls that may be missed before the username index stops trusting its absences
+    private static final int SYNC_GRACE_POLLS = 3;
+
+    private final CacheInvalidationDao dao;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher events;
+    private final UsernameIndex usernameIndex;
+    private final DataSourceProperties dataSourceProperties;
+    private final TransactionTemplate transaction;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Duration pollInterval;
+    private final long gapTimeoutNanos;
+    private final Duration retention;
+    private final int batchSize;
+
+    // owned by the tailing thread
+    private long cursor;
+    private final Set<Long> seenAhead = new HashSet<>();
+    private final Map<Long, Long> gaps = new HashMap<>();
+    private final Map<Long, Long> skipped = new HashMap<>();
+    private long lastPrune = System.nanoTime();
+    private Connection listenConnection;
+
+    private volatile boolean running;
+    private Thread tailer;
+
+    public CacheInvalidationBus(CacheInvalidationDao dao,
+                                JdbcTemplate jdbcTemplate,
+                                ApplicationEventPublisher events,
+                                UsernameIndex usernameIndex,
+                                DataSourceProperties dataSourceProperties,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${gymcrm.cache.invalidation.poll-interval:1s}") Duration pollInterval,
+                                @Value("${gymcrm.cache.invalidation.gap-timeout:5s}") Duration gapTimeout,
+                                @Value("${gymcrm.cache.invalidation.retention:1h}") Duration retention,
+                                @Value("${gymcrm.cache.invalidation.batch-size:500}") int batchSize) {
+        this.dao = dao;
+        this.jdbcTemplate = jdbcTemplate;
+        this.events = events;
+        this.usernameIndex = usernameIndex;
+        this.dataSourceProperties = dataSourceProperties;
+        // not read-only: the tail must follow the primary, not a lagging replica
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.pollInterval = pollInterval;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener
+    @SuppressWarnings("unchecked")
+    public void append(ProfileChangedEvent event) {
+        // events re-published by the tailer, or from outside any transaction, are not written
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        List<Object[]> pending = (List<Object[]>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new PendingRowsWriter(pending));
+        }
+        pending.add(new Object[]{event.type().name(), event.username(), nodeId, Timestamp.from(Instant.now())});
+    }
+
+    private final class PendingRowsWriter implements TransactionSynchronization {
+
+        private final List<Object[]> rows;
+
+        private PendingRowsWriter(List<Object[]> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            jdbcTemplate.batchUpdate("insert into cache_invalidation (resource_type, username, origin, created_at) "
+                    + "values (?, ?, ?, ?)", rows);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        cursor = transaction.execute(status -> dao.maxId());
+        running = true;
+        tailer = new Thread(this::tail, "cache-invalidation-tailer");
+        tailer.setDaemon(true);
+        tailer.start();
+        usernameIndex.clusterSyncStarted();
+        log.info("Cache invalidation bus started: node {}, cursor {}", nodeId, cursor);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        usernameIndex.clusterSyncStopped();
+        if (tailer != null) {
+            tailer.interrupt();
+            tailer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void tail() {
+        try {
+            while (running) {
+                awaitChanges();
+                try {
+                    poll();
+                    usernameIndex.clusterSynced(pollInterval.multipliedBy(SYNC_GRACE_POLLS));
+                    pruneIfDue();
+                } catch (RuntimeException e) {
+                    log.warn("Cache invalidation poll failed, retrying", e);
+                }
+            }
+        } finally {
+            closeListenConnection();
+        }
+    }
+
+    /**
+     * Returns on a NOTIFY, or after {@code poll-interval} at the latest.
+     */
+    private void awaitChanges() {
+        if (dataSourceProperties.determineUrl().startsWith("jdbc:postgresql:")) {
+            try {
+                if (listenConnection == null) {
+                    openListenConnection();
+                }
+                listenConnection.unwrap(PGConnection.class).getNotifications((int) pollInterval.toMillis());
+                return;
+            } catch (SQLException e) {
+                log.warn("LISTEN {} failed, polling until the connection is restored", CHANNEL, e);
+                closeListenConnection();
+            }
+        }
+        try {
+            Thread.sleep(pollInterval.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private void poll() {
+        List<CacheInvalidation> rows = new ArrayList<>(transaction.execute(status -> dao.findAfter(cursor, batchSize)));
+        if (!skipped.isEmpty()) {
+            rows.addAll(transaction.execute(status -> dao.findByIds(List.copyOf(skipped.keySet()))));
+        }
+
+        long now = System.nanoTime();
+        for (CacheInvalidation row : rows) {
+            boolean late = skipped.remove(row.getId()) != null;
+            if ((late || seenAhead.add(row.getId())) && !nodeId.equals(row.getOrigin())) {
+                apply(row);
+            }
+        }
+        advanceCursor(now);
+    }
+
+    private void advanceCursor(long now) {
+        long highestSeen = seenAhead.stream().mapToLong(Long::longValue).max().orElse(cursor);
+        for (long id = cursor + 1; id <= highestSeen; id++) {
+            if (!seenAhead.contains(id) && gaps.size() < MAX_TRACKED_GAPS) {
+                gaps.putIfAbsent(id, now);
+            }
+        }
+        while (cursor < highestSeen) {
+            long next = cursor + 1;
+            if (seenAhead.remove(next)) {
+                cursor = next;
+                continue;
+            }
+            Long missingSince = gaps.get(next);
+            if (missingSince != null && now - missingSince < gapTimeoutNanos) {
+                break;
+            }
+            gaps.remove(next);
+            if (skipped.size() < MAX_TRACKED_GAPS) {
+                skipped.put(next, now);
+            }
+            cursor = next;
+        }
+    }
+
+    private void apply(CacheInvalidation row) {
+        ProfileType type;
+        try {
+            type = ProfileType.valueOf(row.getResourceType());
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring invalidation of unknown type {}", row.getResourceType());
+            return;
+        }
+        events.publishEvent(new ProfileChangedEvent(type, row.getUsername()));
+        if (row.getUsername() != null && (type == ProfileType.TRAINEE || type == ProfileType.TRAINER)) {
+            // may be a user registered on that node
+            usernameIndex.add(row.getUsername());
+        }
+    }
+
+    private void pruneIfDue() {
+        long now = System.nanoTime();
+        if (now - lastPrune < TimeUnit.MINUTES.toNanos(1)) {
+            return;
+        }
+        lastPrune = now;
+        Instant cutoff = Instant.now().minus(retention);
+        Integer deleted = transaction.execute(status -> dao.deleteOlderThan(cutoff));
+        long retentionNanos = retention.toNanos();
+        skipped.values().removeIf(skippedAt -> now - skippedAt > retentionNanos);
+        log.debug("Pruned {} cache invalidation rows older than {}", deleted, cutoff);
+    }
+
+    private void openListenConnection() throws SQLException {
+        listenConnection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        try (Statement statement = listenConnection.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        }
+    }
+
+    private void closeListenConnection() {
+        if (listenConnection == null) {
+            return;
+        }
+        try {
+            listenConnection.close();
+        } catch (SQLException e) {
+            log.debug("Closing LISTEN connection failed", e);
+        }
+        listenConnection = null;
+    }
+}
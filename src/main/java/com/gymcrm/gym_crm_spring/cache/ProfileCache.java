@@ -0,0 +1,120 @@
+package com.gymcrm.gym_crm_spring.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import com.gymcrm.gym_crm_spring.datasource.ReadYourWritesTracker;
+import com.gymcrm.gym_crm_spring.dto.TraineeProfileResponse;
+import com.gymcrm.gym_crm_spring.dto.TrainerProfileResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of profile responses, keyed by lowercased username and bounded by size
+ * and time since write.
+ * <p>
+ * Every entry remembers the {@link ResourceVersions} tag taken before it was loaded and is
+ * served only while that tag is still current. A load that raced with a commit therefore
+ * cannot outlive it: its tag is already stale when the next read arrives. The
+ * {@link ProfileChangedEvent} listener only frees the memory early.
+ * <p>
+ * Reads that join a surrounding transaction bypass the cache: they may see uncommitted
+ * writes, and the version bump for those only happens after commit. Loads that fill the
+ * cache read from the primary: a replica may not have the commit behind the current tag yet.
+ * <p>
+ * Hits and misses are recorded here rather than by Caffeine, so an entry found with a
+ * stale tag counts as the miss it is.
+ */
+@Component
+public class ProfileCache {
+
+    private final ResourceVersions versions;
+    private final ReadYourWritesTracker readYourWrites;
+    private final Cache<String, Versioned<TraineeProfileResponse>> trainees;
+    private final Cache<String, Versioned<TrainerProfileResponse>> trainers;
+    private final StatsCounter traineeStats = new ConcurrentStatsCounter();
+    private final StatsCounter trainerStats = new ConcurrentStatsCounter();
+
+    public ProfileCache(ResourceVersions versions,
+                        ReadYourWritesTracker readYourWrites,
+                        MeterRegistry meterRegistry,
+                        @Value("${gymcrm.cache.profiles.maximum-size:10000}") long maximumSize,
+                        @Value("${gymcrm.cache.profiles.ttl:10m}") Duration ttl) {
+        this.versions = versions;
+        this.readYourWrites = readYourWrites;
+        this.trainees = build(maximumSize, ttl, traineeStats);
+        this.trainers = build(maximumSize, ttl, trainerStats);
+        CaffeineCacheMetrics.monitor(meterRegistry, trainees, "trainee-profiles");
+        CaffeineCacheMetrics.monitor(meterRegistry, trainers, "trainer-profiles");
+    }
+
+    public TraineeProfileResponse traineeProfile(String username, Function<String, TraineeProfileResponse> loader) {
+        return read(ProfileType.TRAINEE, trainees, traineeStats, username, loader);
+    }
+
+    public TrainerProfileResponse trainerProfile(String username, Function<String, TrainerProfileResponse> loader) {
+        return read(ProfileType.TRAINER, trainers, trainerStats, username, loader);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(ProfileChangedEvent event) {
+        Cache<String, ?> cache = switch (event.type()) {
+            case TRAINEE -> trainees;
+            case TRAINER -> trainers;
+            case TRAINEE_TRAININGS, TRAINER_TRAININGS, TRAINING_TYPES -> null;
+        };
+        if (cache == null) {
+            return;
+        }
+        if (event.username() == null) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(key(event.username()));
+        }
+    }
+
+    private <T> T read(ProfileType type, Cache<String, Versioned<T>> cache, StatsCounter stats, String username,
+                       Function<String, T> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.apply(username);
+        }
+        String key = key(username);
+        String version = versions.etag(type, username);
+
+        // the map view does not record stats (unlike getIfPresent), but still counts towards eviction
+        Versioned<T> cached = cache.asMap().get(key);
+        if (cached != null && cached.version().equals(version)) {
+            stats.recordHits(1);
+            return cached.value();
+        }
+        // a stale entry here means a commit landed between its load and now
+        stats.recordMisses(1);
+        T value = readYourWrites.readFromPrimary(() -> loader.apply(username));
+        cache.put(key, new Versioned<>(version, value));
+        return value;
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private static <V> Cache<String, V> build(long maximumSize, Duration ttl, StatsCounter stats) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats(() -> stats)
+                .build();
+    }
+
+    private record Versioned<T>(String version, T value) {
+    }
+}
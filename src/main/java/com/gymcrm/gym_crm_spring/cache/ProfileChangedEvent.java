@@ -0,0 +1,16 @@
+package com.gymcrm.gym_crm_spring.cache;
+
+/**
+ * Published by the facade when a write changes what a {@link ProfileType} read would return.
+ * A {@code null} username means every profile of that type may have changed.
+ */
+public record ProfileChangedEvent(ProfileType type, String username) {
+
+    public static ProfileChangedEvent of(ProfileType type, String username) {
+        return new ProfileChangedEvent(type, username);
+    }
+
+    public static ProfileChangedEvent all(ProfileType type) {
+        return new ProfileChangedEvent(type, null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.gymcrm.gym_crm_spring.cache;
+
+/**
+ * Read models versioned by {@link ResourceVersions}: profiles, per-user training lists and
+ * the training-type list.
+ */
+public enum ProfileType {
+    TRAINEE,
+    TRAINER,
+    TRAINEE_TRAININGS,
+    TRAINER_TRAININGS,
+    TRAINING_TYPES
+}
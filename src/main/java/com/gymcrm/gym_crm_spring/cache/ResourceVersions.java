@@ -0,0 +1,83 @@
+package com.gymcrm.gym_crm_spring.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory change counters behind the profile and training-type ETags, so a conditional
+ * GET can be answered without touching the database.
+ * <p>
+ * A tag is {@code <epoch>-<type generation>-<profile version>}: the epoch changes on every
+ * start (counters are not persisted), the type generation is bumped by changes that may
+ * touch any profile of a type, the profile version by changes to one profile. Counters move
+ * only after the writing transaction commits, and callers read the tag before loading the
+ * data, so a response can carry an older tag than its content but never a newer one.
+ * <p>
+ * Tags are per node. Each node has its own epoch, and its counters depend on the events it
+ * has seen since it started, so a tag issued by one node never matches on another: a
+ * conditional GET that lands on a different node gets a full response instead of a 304.
+ * Sharing only the epoch would be unsafe, since equal counters on two nodes need not mean
+ * equal content.
+ * <p>
+ * Only the {@code gymcrm.cache.versions.maximum-size} profiles changed most recently keep a
+ * version of their own. Versions come from one node-wide sequence, and a profile without an
+ * entry reports the highest version evicted so far: that is at least its own last version and
+ * above any tag it carried before that change, so eviction can cost a 304 but never fake one.
+ */
+@Slf4j
+@Component
+public class ResourceVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<ProfileType, AtomicLong> generations = new EnumMap<>(ProfileType.class);
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong evictedUpTo = new AtomicLong();
+    private final Cache<ProfileKey, Long> versions;
+
+    public ResourceVersions(@Value("${gymcrm.cache.versions.maximum-size:100000}") long maximumSize) {
+        // runs inside the eviction, before readers can miss the entry
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .<ProfileKey, Long>evictionListener((key, version, cause) ->
+                        evictedUpTo.accumulateAndGet(version, Math::max))
+                .build();
+        for (ProfileType type : ProfileType.values()) {
+            generations.put(type, new AtomicLong());
+        }
+    }
+
+    public String etag(ProfileType type, String username) {
+        Long version = username == null ? Long.valueOf(0) : versions.getIfPresent(ProfileKey.of(type, username));
+        return epoch + "-" + generations.get(type).get() + "-" + (version == null ? evictedUpTo.get() : version);
+    }
+
+    public String etag(ProfileType type) {
+        return etag(type, null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(ProfileChangedEvent event) {
+        if (event.username() == null) {
+            generations.get(event.type()).incrementAndGet();
+        } else {
+            versions.asMap().compute(ProfileKey.of(event.type(), event.username()),
+                    (key, version) -> sequence.incrementAndGet());
+        }
+        log.debug("Profile version bumped: {}", event);
+    }
+
+    private record ProfileKey(ProfileType type, String username) {
+        static ProfileKey of(ProfileType type, String username) {
+            return new ProfileKey(type, username.toLowerCase(Locale.ROOT));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.gymcrm.gym_crm_spring.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads: the first caller for a key runs the computation,
+ * callers arriving while it is in flight wait for and share its result (or exception).
+ * Nothing is kept once the computation finishes.
+ * <p>
+ * Keys must include the {@link ResourceVersions} tag of what is read. A caller that has
+ * just committed a write then carries a newer tag and never joins a flight that started
+ * before its commit. Calls inside a transaction are not coalesced: they may see
+ * uncommitted data.
+ */
+@Component
+public class SingleFlight {
+
+    private final Map<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, List<?> key, Supplier<T> computation) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return computation.get();
+        }
+        FlightKey flightKey = new FlightKey(operation, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+
+        if (existing != null) {
+            counters(operation).coalesced().increment();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                throw unwrap(e);
+            }
+        }
+
+        counters(operation).executed().increment();
+        try {
+            T result = computation.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    private Counters counters(String operation) {
+        return counters.computeIfAbsent(operation, op -> new Counters(counter(op, "executed"), counter(op, "coalesced")));
+    }
+
+    private Counter counter(String operation, String result) {
+        return Counter.builder("gymcrm.singleflight.calls")
+                .description("Facade reads that ran their own query (executed) or shared one already in flight (coalesced)")
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return e;
+    }
+
+    private record FlightKey(String operation, List<?> key) {
+    }
+
+    private record Counters(Counter executed, Counter coalesced) {
+    }
+}
@@ -0,0 +1,136 @@
+package com.gymcrm.gym_crm_spring.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import com.gymcrm.gym_crm_spring.datasource.ReadYourWritesTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Training-list results per trainee/trainer and filter combination. The cache is capped by
+ * the total number of cached rows ({@code gymcrm.cache.training-history.max-rows}) rather
+ * than by entry count, since one result can hold a handful or thousands of trainings.
+ * <p>
+ * Entries are version-checked like {@link ProfileCache}: a result is served only while the
+ * owner's {@link ProfileType#TRAINEE_TRAININGS}/{@link ProfileType#TRAINER_TRAININGS} tag
+ * is unchanged. Events for one owner drop only that owner's results (a rename is published
+ * for each counterparty whose name filters it can change); a whole-type event drops that
+ * side entirely.
+ * <p>
+ * Reads that join a surrounding transaction bypass the cache, loads read from the primary
+ * and a stale entry counts as a miss, as in {@link ProfileCache}.
+ */
+@Component
+public class TrainingHistoryCache {
+
+    private final ResourceVersions versions;
+    private final ReadYourWritesTracker readYourWrites;
+    private final Cache<Query, Versioned<?>> results;
+    private final StatsCounter stats = new ConcurrentStatsCounter();
+    private final Map<Owner, Set<Query>> queriesByOwner = new ConcurrentHashMap<>();
+
+    public TrainingHistoryCache(ResourceVersions versions,
+                                ReadYourWritesTracker readYourWrites,
+                                MeterRegistry meterRegistry,
+                                @Value("${gymcrm.cache.training-history.max-rows:200000}") long maxRows,
+                                @Value("${gymcrm.cache.training-history.ttl:10m}") Duration ttl) {
+        this.versions = versions;
+        this.readYourWrites = readYourWrites;
+        this.results = Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                // an empty result still costs an entry
+                .weigher((Query query, Versioned<?> entry) -> entry.rows() + 1)
+                .expireAfterWrite(ttl)
+                .removalListener((Query query, Versioned<?> entry, RemovalCause cause) -> {
+                    // a REPLACED entry is still cached under the same query and stays indexed
+                    if (query != null && (cause.wasEvicted() || cause == RemovalCause.EXPLICIT)) {
+                        unindex(query);
+                    }
+                })
+                .recordStats(() -> stats)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, "training-history");
+    }
+
+    /**
+     * @param side    {@link ProfileType#TRAINEE_TRAININGS} or {@link ProfileType#TRAINER_TRAININGS}
+     * @param filters the query filters; strings are matched case-insensitively by the DAO and
+     *                are lowercased here so equivalent requests share an entry
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(ProfileType side, String username, List<?> filters, ToIntFunction<T> rows, Supplier<T> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+        Owner owner = new Owner(side, username.toLowerCase(Locale.ROOT));
+        Query query = new Query(owner, normalize(filters));
+        String version = versions.etag(side, username);
+
+        Versioned<?> cached = results.asMap().get(query);
+        if (cached != null && cached.version().equals(version)) {
+            stats.recordHits(1);
+            return (T) cached.value();
+        }
+        stats.recordMisses(1);
+        T value = readYourWrites.readFromPrimary(loader);
+        queriesByOwner.computeIfAbsent(owner, key -> ConcurrentHashMap.newKeySet()).add(query);
+        results.put(query, new Versioned<>(version, value, rows.applyAsInt(value)));
+        return value;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(ProfileChangedEvent event) {
+        if (event.type() != ProfileType.TRAINEE_TRAININGS && event.type() != ProfileType.TRAINER_TRAININGS) {
+            return;
+        }
+        if (event.username() == null) {
+            results.asMap().keySet().removeIf(query -> query.owner().side() == event.type());
+            return;
+        }
+        Set<Query> queries = queriesByOwner.remove(new Owner(event.type(), event.username().toLowerCase(Locale.ROOT)));
+        if (queries != null) {
+            results.invalidateAll(queries);
+        }
+    }
+
+    private void unindex(Query query) {
+        queriesByOwner.computeIfPresent(query.owner(), (owner, queries) -> {
+            queries.remove(query);
+            return queries.isEmpty() ? null : queries;
+        });
+    }
+
+    private static List<Object> normalize(List<?> filters) {
+        List<Object> normalized = new ArrayList<>(filters.size());
+        for (Object filter : filters) {
+            normalized.add(filter instanceof String text ? text.toLowerCase(Locale.ROOT) : filter);
+        }
+        return normalized;
+    }
+
+    private record Owner(ProfileType side, String username) {
+    }
+
+    private record Query(Owner owner, List<Object> filters) {
+    }
+
+    private record Versioned<T>(String version, T value, int rows) {
+    }
+}
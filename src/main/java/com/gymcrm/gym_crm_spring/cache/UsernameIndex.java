@@ -0,0 +1,238 @@
+package com.gymcrm.gym_crm_spring.cache;
+
+import com.gymcrm.gym_crm_spring.datasource.ReadYourWritesTracker;
+import com.gymcrm.gym_crm_spring.service.UserService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bloom filter of lowercased usernames, so logins for names that were never registered
+ * and username candidates that are certainly free need no query.
+ * <p>
+ * Until the first build (started in the background once the application is ready) and
+ * whenever in doubt, {@link #mightExist} answers {@code true} and callers fall back to the
+ * database. Users registered on other nodes only reach the filter through the
+ * {@link CacheInvalidationBus}, so a name is ruled out only while the bus is tailing the
+ * outbox and the filter was built after it started; with the bus disabled or stalled the
+ * index is never trusted. Other nodes' registrations still arrive up to one bus poll late,
+ * and callers must tolerate that (registration retries on the unique constraint). Names are added before the registering transaction commits; a rollback only
+ * leaves a false positive behind. Names added in the last few minutes are replayed into a
+ * rebuilt filter, since their transaction may commit after the rebuild read the table.
+ * Deleted names cannot be removed from a Bloom filter, so
+ * the filter is rebuilt after {@code gymcrm.username-index.rebuild-after-deletions}
+ * deletions, once it holds more names than it was sized for, and every
+ * {@code gymcrm.username-index.rebuild-interval} to pick up users inserted by other
+ * instances or tools. Builds read the primary: a lagging replica would leave out recently
+ * registered names, and absence is only worth trusting if the filter covers every commit.
+ */
+@Slf4j
+@Component
+public class UsernameIndex implements DisposableBean {
+
+    // longer than any registration transaction can stay open
+    private static final long REPLAY_WINDOW_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private final UserService userService;
+    private final ReadYourWritesTracker readYourWrites;
+    private final double falsePositiveRate;
+    private final long minimumCapacity;
+    private final long rebuildAfterDeletions;
+    private final Duration rebuildInterval;
+    private final boolean enabled;
+
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "username-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Queue<RecentAddition> recentAdditions = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final AtomicLong deletionsSinceBuild = new AtomicLong();
+    private final Counter definitelyAbsent;
+    private final Counter maybePresent;
+
+    private volatile Build current;
+    private volatile BloomFilter building;
+    private volatile boolean clusterSync;
+    private volatile long clusterSyncStartedAt = NEVER;
+    private volatile long clusterSyncValidUntil = NEVER;
+
+    public UsernameIndex(UserService userService,
+                         ReadYourWritesTracker readYourWrites,
+                         MeterRegistry meterRegistry,
+                         @Value("${gymcrm.username-index.false-positive-rate:0.01}") double falsePositiveRate,
+                         @Value("${gymcrm.username-index.minimum-capacity:100000}") long minimumCapacity,
+                         @Value("${gymcrm.username-index.rebuild-after-deletions:10000}") long rebuildAfterDeletions,
+                         @Value("${gymcrm.username-index.rebuild-interval:10m}") Duration rebuildInterval,
+                         @Value("${gymcrm.username-index.enabled:true}") boolean enabled) {
+        this.userService = userService;
+        this.readYourWrites = readYourWrites;
+        this.falsePositiveRate = falsePositiveRate;
+        this.minimumCapacity = minimumCapacity;
+        this.rebuildAfterDeletions = rebuildAfterDeletions;
+        this.rebuildInterval = rebuildInterval;
+        this.enabled = enabled;
+        this.definitelyAbsent = lookups(meterRegistry, "absent");
+        this.maybePresent = lookups(meterRegistry, "maybe");
+        Gauge.builder("gymcrm.username-index.size", this, index -> {
+                    Build build = index.current;
+                    return build == null ? 0 : build.filter().insertions();
+                })
+                .description("Usernames added to the Bloom filter since its last build")
+                .register(meterRegistry);
+    }
+
+    /**
+     * {@code false} only if no user with this name (case-insensitive) exists.
+     */
+    public boolean mightExist(String username) {
+        Build build = current;
+        if (build == null || username == null || !isInClusterSync(build)) {
+            return true;
+        }
+        boolean maybe = build.filter().mightContain(username.toLowerCase(Locale.ROOT));
+        (maybe ? maybePresent : definitelyAbsent).increment();
+        return maybe;
+    }
+
+    public void add(String username) {
+        String key = username.toLowerCase(Locale.ROOT);
+        Build build = current;
+        BloomFilter filter = build == null ? null : build.filter();
+        BloomFilter next = building;
+        if (filter != null) {
+            filter.put(key);
+            if (filter.isSaturated()) {
+                scheduleRebuild();
+            }
+        }
+        if (next != null) {
+            next.put(key);
+        }
+        long now = System.nanoTime();
+        recentAdditions.add(new RecentAddition(key, now));
+        RecentAddition oldest;
+        while ((oldest = recentAdditions.peek()) != null && now - oldest.addedAt() > REPLAY_WINDOW_NANOS) {
+            recentAdditions.remove(oldest);
+        }
+    }
+
+    public void recordDeletion() {
+        if (deletionsSinceBuild.incrementAndGet() >= rebuildAfterDeletions) {
+            scheduleRebuild();
+        }
+    }
+
+    /**
+     * Called by the bus once it tails the outbox: registrations committed on other nodes from
+     * then on reach {@link #add}, so a filter built afterwards covers the whole cluster. An
+     * earlier build may miss users registered elsewhere before that point and is replaced.
+     */
+    public void clusterSyncStarted() {
+        clusterSyncStartedAt = System.nanoTime();
+        clusterSync = true;
+        if (enabled) {
+            scheduleRebuild();
+        }
+    }
+
+    /**
+     * Called by the bus after every successful poll. Absence is trusted until {@code validFor}
+     * has passed without another call.
+     */
+    public void clusterSynced(Duration validFor) {
+        clusterSyncValidUntil = System.nanoTime() + validFor.toNanos();
+    }
+
+    public void clusterSyncStopped() {
+        clusterSync = false;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        scheduleRebuild();
+        long intervalMs = rebuildInterval.toMillis();
+        rebuilder.scheduleWithFixedDelay(this::scheduleRebuild, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        rebuilder.shutdownNow();
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuilder.execute(this::rebuild);
+        }
+    }
+
+    private boolean isInClusterSync(Build build) {
+        return clusterSync
+                && build.startedAt() - clusterSyncStartedAt >= 0
+                && clusterSyncValidUntil - System.nanoTime() > 0;
+    }
+
+    private void rebuild() {
+        long started = System.nanoTime();
+        boolean built = false;
+        try {
+            long expected = Math.max(minimumCapacity, readYourWrites.readFromPrimary(userService::count) * 2);
+            BloomFilter next = new BloomFilter(expected, falsePositiveRate);
+            // registrations from now on go to both filters, so none falls between the stream and the swap
+            building = next;
+            deletionsSinceBuild.set(0);
+            readYourWrites.readFromPrimary(() -> {
+                userService.forEachUsername(username -> next.put(username.toLowerCase(Locale.ROOT)));
+                return null;
+            });
+            recentAdditions.forEach(addition -> next.put(addition.username()));
+            current = new Build(next, started);
+            built = true;
+            log.info("Username index rebuilt: {} names, capacity {}, {} ms",
+                    next.insertions(), expected, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Username index rebuild failed, lookups keep using the previous filter", e);
+        } finally {
+            building = null;
+            rebuildScheduled.set(false);
+        }
+        // the bus started while this build was reading the table
+        if (built && clusterSync && started - clusterSyncStartedAt < 0) {
+            scheduleRebuild();
+        }
+    }
+
+    private record Build(BloomFilter filter, long startedAt) {
+    }
+
+    private record RecentAddition(String username, long addedAt) {
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gymcrm.username-index.lookups")
+                .description("Username index lookups that ruled a name out (absent) or required a query (maybe)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,31 @@
+package com.gymcrm.gym_crm_spring.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Smile ({@code application/x-jackson-smile}) and CBOR ({@code application/cbor}) for
+ * internal clients that ask for them in {@code Accept}. Both are appended after the JSON
+ * converter, so a request without a specific {@code Accept} still gets JSON.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class BinaryEncodingConfig implements WebMvcConfigurer {
+
+    // prototype bean: each lookup returns a fresh builder carrying Boot's Jackson settings
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MappingJackson2SmileHttpMessageConverter(objectMapperBuilder.getObject().smile().build()));
+        converters.add(new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.getObject().cbor().build()));
+    }
+}
@@ -0,0 +1,33 @@
+package com.gymcrm.gym_crm_spring.config;
+
+import com.gymcrm.gym_crm_spring.monitoring.threads.VirtualThreadPinningMonitor;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+
+/**
+ * Beans kept eager under the "lazy" profile ({@code spring.main.lazy-initialization=true}).
+ * Migrations, the pool and Hibernate bootstrap still happen before the readiness probe
+ * reports UP, so the first request after scale-out does not pay for them and a broken
+ * database fails the pod instead of its first user.
+ */
+@Configuration
+@Profile("lazy")
+public class LazyInitializationConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerInfrastructure() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                DataSource.class,
+                FlywayMigrationInitializer.class,
+                EntityManagerFactory.class,
+                HealthContributor.class,
+                VirtualThreadPinningMonitor.class);
+    }
+}
@@ -0,0 +1,79 @@
+package com.gymcrm.gym_crm_spring.config;
+
+import com.gymcrm.gym_crm_spring.datasource.ConnectionLimitingDataSourcePostProcessor;
+import com.gymcrm.gym_crm_spring.datasource.ReadWriteRoutingDataSource;
+import com.gymcrm.gym_crm_spring.datasource.ReadYourWritesTracker;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured data source with a primary/replica pair once
+ * {@code gymcrm.datasource.replica.url} is set. The primary pool is configured by the usual
+ * {@code spring.datasource.*} properties, the replica by {@code gymcrm.datasource.replica.*}
+ * (credentials default to the primary's).
+ * <p>
+ * The pools are not beans of their own, so the data source wrappers (query timing and the
+ * lazy connection proxy the routing depends on) apply once, around the routing data source.
+ * Connection limiting is the exception: each pool gets its own limit, sized to that pool,
+ * so reads on the replica do not use up the primary's permits.
+ */
+@Configuration
+@ConditionalOnProperty(name = "gymcrm.datasource.replica.url")
+public class ReadReplicaDataSourceConfig implements DisposableBean {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties,
+                                 Environment environment,
+                                 ReadYourWritesTracker readYourWrites,
+                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                 ObjectProvider<ConnectionLimitingDataSourcePostProcessor> connectionLimiter) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        configure(primary, "primary", binder, "spring.datasource.hikari", meterRegistry);
+
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(environment.getRequiredProperty("gymcrm.datasource.replica.url"))
+                .username(environment.getProperty("gymcrm.datasource.replica.username", properties.determineUsername()))
+                .password(environment.getProperty("gymcrm.datasource.replica.password", properties.determinePassword()))
+                .build();
+        configure(replica, "replica", binder, "gymcrm.datasource.replica.hikari", meterRegistry);
+
+        ConnectionLimitingDataSourcePostProcessor limiter = connectionLimiter.getIfAvailable();
+        if (limiter == null) {
+            return new ReadWriteRoutingDataSource(primary, replica, readYourWrites);
+        }
+        return new ReadWriteRoutingDataSource(limiter.limit(primary, "primary"), limiter.limit(replica, "replica"),
+                readYourWrites);
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private void configure(HikariDataSource pool, String name, Binder binder, String prefix,
+                           ObjectProvider<MeterRegistry> meterRegistry) {
+        pool.setPoolName(name);
+        binder.bind(prefix, Bindable.ofInstance(pool));
+        meterRegistry.ifAvailable(pool::setMetricRegistry);
+        pools.add(pool);
+    }
+}
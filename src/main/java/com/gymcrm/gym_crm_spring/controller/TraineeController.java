@@ -17,7 +17,9 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -28,6 +30,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -44,14 +47,20 @@ public class TraineeController {
     @RequireAuthentication
     @Operation(summary = "Get Trainee Profile", description = "Returns Trainee profile information by username")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Trainee profile retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Trainee profile retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Profile unchanged since the ETag sent in If-None-Match")
     })
-    @ResponseStatus(HttpStatus.OK)
     @GetMapping("/profile")
-    public TraineeProfileResponse getProfile(
-            @RequestParam @NotBlank String username
+    public ResponseEntity<TraineeProfileResponse> getProfile(
+            @RequestParam @NotBlank String username,
+            WebRequest webRequest
     ) {
-        return gymFacade.getTraineeProfile(username);
+        if (webRequest.checkNotModified(gymFacade.getTraineeProfileVersion(username))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(gymFacade.getTraineeProfile(username));
     }
 
     @RequireAuthentication
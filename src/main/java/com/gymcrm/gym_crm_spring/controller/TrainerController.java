@@ -16,7 +16,9 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -26,6 +28,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -42,14 +45,20 @@ public class TrainerController {
     @RequireAuthentication
     @Operation(summary = "Get Trainer Profile", description = "Returns Trainer profile information by username")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Trainer profile retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Trainer profile retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Profile unchanged since the ETag sent in If-None-Match")
     })
-    @ResponseStatus(HttpStatus.OK)
     @GetMapping("/profile")
-    public TrainerProfileResponse getProfile(
-            @RequestParam @NotBlank String username
+    public ResponseEntity<TrainerProfileResponse> getProfile(
+            @RequestParam @NotBlank String username,
+            WebRequest webRequest
     ) {
-        return gymFacade.getTrainerProfile(username);
+        if (webRequest.checkNotModified(gymFacade.getTrainerProfileVersion(username))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(gymFacade.getTrainerProfile(username));
     }
 
     @RequireAuthentication
@@ -8,13 +8,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -24,6 +26,8 @@ import java.util.List;
 @Validated
 public class TrainingTypeController {
 
+    private static final CacheControl TRAINING_TYPES_CACHE = CacheControl.maxAge(Duration.ofHours(1)).cachePrivate();
+
     private final GymFacade gymFacade;
 
     @RequireAuthentication
@@ -32,11 +36,16 @@ public class TrainingTypeController {
             description = "Returns a list of all available training types"
     )
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Training types retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Training types retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Training types unchanged since the ETag sent in If-None-Match")
     })
-    @ResponseStatus(HttpStatus.OK)
     @GetMapping
-    public List<TrainingTypeResponse> getAllTrainingTypes() {
-        return gymFacade.getAllTrainingTypes();
+    public ResponseEntity<List<TrainingTypeResponse>> getAllTrainingTypes(WebRequest webRequest) {
+        if (webRequest.checkNotModified(gymFacade.getTrainingTypesVersion())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(TRAINING_TYPES_CACHE)
+                .body(gymFacade.getAllTrainingTypes());
     }
 }
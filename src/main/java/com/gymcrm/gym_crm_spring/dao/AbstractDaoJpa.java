@@ -1,52 +1,221 @@
 package com.gymcrm.gym_crm_spring.dao;
 
+import com.gymcrm.gym_crm_spring.domain.BaseEntity;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.PersistenceContext;
 import lombok.Getter;
 import lombok.AccessLevel;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.core.GenericTypeResolver;
 
-import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Slf4j
-public abstract class AbstractDaoJpa<T> {
+public abstract class AbstractDaoJpa<T extends BaseEntity, ID> {
+
+    /**
+     * Rounds of {@link #saveAll} when {@code hibernate.jdbc.batch_size} is not set.
+     */
+    private static final int DEFAULT_FLUSH_INTERVAL = 50;
+
+    /**
+     * Rows fetched per round-trip by {@link #streamAll}, which also clears the persistence
+     * context after each such batch.
+     */
+    protected static final int STREAM_FETCH_SIZE = 500;
 
     @PersistenceContext
     @Getter(AccessLevel.PROTECTED)
     private EntityManager entityManager;
 
     private final Class<T> clazz;
+    private volatile int flushInterval;
 
     @SuppressWarnings("unchecked")
     protected AbstractDaoJpa() {
-        this.clazz = (Class<T>) ((ParameterizedType) getClass()
-                .getGenericSuperclass())
-                .getActualTypeArguments()[0];
+        this.clazz = (Class<T>) GenericTypeResolver.resolveTypeArguments(getClass(), AbstractDaoJpa.class)[0];
     }
 
+    /**
+     * New entities are persisted (a plain insert at flush); anything loaded or inserted before
+     * is merged, which returns the managed copy.
+     */
     public T save(T entity) {
-        T merged = entityManager.merge(entity);
-        log.debug("Saved {}: {}", clazz.getSimpleName(), merged);
-        return merged;
+        T saved;
+        if (entity.isNew()) {
+            entityManager.persist(entity);
+            saved = entity;
+        } else {
+            saved = entityManager.merge(entity);
+        }
+        log.debug("Saved {}: {}", clazz.getSimpleName(), saved);
+        return saved;
+    }
+
+    /**
+     * Saves in rounds of {@code hibernate.jdbc.batch_size} entities, flushing and clearing the
+     * persistence context after each: every round goes out as one full JDBC batch per table,
+     * and the context does not grow with the input. Everything managed before the call,
+     * including the caller's other entities, is detached afterwards.
+     */
+    public List<T> saveAll(Collection<? extends T> entities) {
+        int interval = flushInterval();
+        List<T> saved = new ArrayList<>(entities.size());
+        int pending = 0;
+        for (T entity : entities) {
+            saved.add(save(entity));
+            if (++pending == interval) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return saved;
+    }
+
+    private int flushInterval() {
+        int interval = flushInterval;
+        if (interval == 0) {
+            Object configured = entityManager.getEntityManagerFactory().getProperties()
+                    .get(AvailableSettings.STATEMENT_BATCH_SIZE);
+            interval = configured == null ? DEFAULT_FLUSH_INTERVAL : Math.max(1, Integer.parseInt(configured.toString().trim()));
+            flushInterval = interval;
+        }
+        return interval;
     }
 
-    public Optional<T> findById(UUID id) {
+    public Optional<T> findById(ID id) {
         return Optional.ofNullable(entityManager.find(clazz, id));
     }
 
+    public boolean existsById(ID id) {
+        return !entityManager.createQuery("select e.id from " + clazz.getSimpleName() + " e where e.id = :id")
+                .setParameter("id", id)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    public long count() {
+        return entityManager.createQuery("select count(e) from " + clazz.getSimpleName() + " e", Long.class)
+                .getSingleResult();
+    }
+
+    /**
+     * Loads the whole table; only for small reference data such as training types. Use
+     * {@link #findPage}, {@link #findPageAfter} or {@link #streamAll} for anything that grows.
+     */
     public List<T> findAll() {
         TypedQuery<T> q = entityManager.createQuery("select e from " + clazz.getSimpleName() + " e", clazz);
         return q.getResultList();
     }
 
-    public void delete(UUID id) {
-        findById(id).ifPresent(entity -> {
-            entityManager.remove(entityManager.contains(entity) ? entity : entityManager.merge(entity));
-            log.debug("Deleted {} id={}", clazz.getSimpleName(), id);
-        });
+    /**
+     * Read-only page in id order. The offset is skipped row by row in the database, so deep
+     * pages get slower; prefer {@link #findPageAfter} when walking the whole table.
+     */
+    public List<T> findPage(int offset, int limit) {
+        return entityManager.createQuery("select e from " + clazz.getSimpleName() + " e order by e.id", clazz)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+    }
+
+    /**
+     * Read-only keyset page: up to {@code limit} entities with an id greater than
+     * {@code afterId} (from the start when {@code null}), in id order. Pass the last id of
+     * one page to get the next.
+     */
+    public List<T> findPageAfter(ID afterId, int limit) {
+        String entity = clazz.getSimpleName();
+        TypedQuery<T> query = afterId == null
+                ? entityManager.createQuery("select e from " + entity + " e order by e.id", clazz)
+                : entityManager.createQuery("select e from " + entity + " e where e.id > :after order by e.id", clazz)
+                        .setParameter("after", afterId);
+        return query.setMaxResults(limit)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+    }
+
+    /**
+     * Streams the whole table read-only, {@link #STREAM_FETCH_SIZE} rows per round-trip, and
+     * clears the persistence context after every such batch so memory stays flat. Entities
+     * are detached once the next batch starts and must not be kept or navigated lazily
+     * afterwards; the stream must be consumed inside a transaction with nothing left to
+     * flush, and closed.
+     */
+    public Stream<T> streamAll() {
+        Stream<T> rows = entityManager.createQuery("select e from " + clazz.getSimpleName() + " e", clazz)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+        Spliterator<T> source = rows.spliterator();
+        Spliterator<T> clearing = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private int sinceClear;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (!source.tryAdvance(action)) {
+                    return false;
+                }
+                // after the consumer is done with the row, never under it
+                if (++sinceClear == STREAM_FETCH_SIZE) {
+                    entityManager.clear();
+                    sinceClear = 0;
+                }
+                return true;
+            }
+        };
+        return StreamSupport.stream(clearing, false).onClose(rows::close);
+    }
+
+    /**
+     * Loads the entity so cascades and callbacks run; if the transaction already holds it,
+     * that costs no query.
+     */
+    public void delete(ID id) {
+        findById(id).ifPresent(this::delete);
+    }
+
+    /**
+     * Removes an entity managed by the current transaction without looking it up again.
+     */
+    public void delete(T entity) {
+        entityManager.remove(entity);
+        log.debug("Deleted {}: {}", clazz.getSimpleName(), entity);
+    }
+
+    /**
+     * One bulk {@code delete} statement: no entities are loaded, so JPA cascades, orphan
+     * removal and lifecycle callbacks do not run, and instances already in the persistence
+     * context are not evicted. Only for entities whose dependent rows the schema removes or
+     * that have none, which is why the services do not expose it: users, trainees and
+     * trainers are deleted through their services' cascading paths.
+     */
+    public int deleteAllById(Collection<ID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int deleted = entityManager.createQuery("delete from " + clazz.getSimpleName() + " e where e.id in :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+        log.debug("Deleted {} {} rows", deleted, clazz.getSimpleName());
+        return deleted;
     }
 }
@@ -0,0 +1,40 @@
+package com.gymcrm.gym_crm_spring.dao;
+
+import com.gymcrm.gym_crm_spring.domain.CacheInvalidation;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public class CacheInvalidationDao extends AbstractDaoJpa<CacheInvalidation, Long> {
+
+    public List<CacheInvalidation> findAfter(long cursor, int limit) {
+        return getEntityManager()
+                .createQuery("select c from CacheInvalidation c where c.id > :cursor order by c.id", CacheInvalidation.class)
+                .setParameter("cursor", cursor)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public List<CacheInvalidation> findByIds(Collection<Long> ids) {
+        return getEntityManager()
+                .createQuery("select c from CacheInvalidation c where c.id in :ids order by c.id", CacheInvalidation.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    public long maxId() {
+        return getEntityManager()
+                .createQuery("select coalesce(max(c.id), 0) from CacheInvalidation c", Long.class)
+                .getSingleResult();
+    }
+
+    public int deleteOlderThan(Instant cutoff) {
+        return getEntityManager()
+                .createQuery("delete from CacheInvalidation c where c.createdAt < :cutoff")
+                .setParameter("cutoff", cutoff)
+                .executeUpdate();
+    }
+}
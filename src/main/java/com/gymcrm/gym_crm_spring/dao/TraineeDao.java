@@ -4,9 +4,10 @@ import com.gymcrm.gym_crm_spring.domain.Trainee;
 import jakarta.persistence.TypedQuery;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
-public class TraineeDao extends AbstractDaoJpa<Trainee> {
+public class TraineeDao extends AbstractDaoJpa<Trainee, UUID> {
 
     public Optional<Trainee> findByUsername(String username) {
         TypedQuery<Trainee> q = getEntityManager().createQuery("""
@@ -21,11 +22,17 @@ public class TraineeDao extends AbstractDaoJpa<Trainee> {
         return q.getResultStream().findFirst();
     }
 
-    public Optional<Trainee> findByFirstAndLastName(String firstName, String lastName) {
-        TypedQuery<Trainee> q = getEntityManager()
-                .createQuery("select t from Trainee t where lower(t.user.firstName) = :f and lower(t.user.lastName) = :l", Trainee.class)
+    /**
+     * Reads one id at most, so no trainee or user is loaded just to be thrown away.
+     */
+    public boolean existsByFirstAndLastName(String firstName, String lastName) {
+        return !getEntityManager()
+                .createQuery("select t.id from Trainee t " +
+                        "where lower(t.user.firstName) = :f and lower(t.user.lastName) = :l", UUID.class)
                 .setParameter("f", firstName.toLowerCase())
-                .setParameter("l", lastName.toLowerCase());
-        return q.getResultStream().findFirst();
+                .setParameter("l", lastName.toLowerCase())
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
     }
 }
@@ -8,7 +8,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public class TrainerDao extends AbstractDaoJpa<Trainer> {
+public class TrainerDao extends AbstractDaoJpa<Trainer, UUID> {
 
     public Optional<Trainer> findByUsername(String username) {
         TypedQuery<Trainer> q = getEntityManager()
@@ -24,12 +24,25 @@ public class TrainerDao extends AbstractDaoJpa<Trainer> {
         return q.getResultList();
     }
 
-    public Optional<Trainer> findByFirstAndLastName(String firstName, String lastName) {
-        TypedQuery<Trainer> q = getEntityManager()
-                .createQuery("select t from Trainer t " +
-                        "where lower(t.user.firstName) = :f and lower(t.user.lastName) = :l", Trainer.class)
+    public List<String> findUsernamesAssignedTo(String traineeUsername) {
+        return getEntityManager().createQuery(
+                        "select tr.user.username from Trainer tr join tr.assignedTrainees ta where lower(ta.user.username) = :u",
+                        String.class)
+                .setParameter("u", traineeUsername.toLowerCase())
+                .getResultList();
+    }
+
+    /**
+     * Reads one id at most, so no trainer or user is loaded just to be thrown away.
+     */
+    public boolean existsByFirstAndLastName(String firstName, String lastName) {
+        return !getEntityManager()
+                .createQuery("select t.id from Trainer t " +
+                        "where lower(t.user.firstName) = :f and lower(t.user.lastName) = :l", UUID.class)
                 .setParameter("f", firstName.toLowerCase())
-                .setParameter("l", lastName.toLowerCase());
-        return q.getResultStream().findFirst();
+                .setParameter("l", lastName.toLowerCase())
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
     }
 }
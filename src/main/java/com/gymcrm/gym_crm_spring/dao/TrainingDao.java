@@ -5,9 +5,10 @@ import jakarta.persistence.TypedQuery;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.UUID;
 
 @Repository
-public class TrainingDao extends AbstractDaoJpa<Training> {
+public class TrainingDao extends AbstractDaoJpa<Training, UUID> {
 
     public List<Training> findByCriteriaForTrainee(String traineeUsername,
                                                    LocalDate from,
@@ -63,4 +64,26 @@ public class TrainingDao extends AbstractDaoJpa<Training> {
 
         return query.getResultList();
     }
+
+    public long countByTrainingDate(LocalDate date) {
+        return getEntityManager().createQuery("select count(tr) from Training tr where tr.trainingDate = :date", Long.class)
+                .setParameter("date", date)
+                .getSingleResult();
+    }
+
+    public List<String> findTrainerUsernamesForTrainee(String traineeUsername) {
+        return getEntityManager().createQuery(
+                        "select distinct tr.trainer.user.username from Training tr where lower(tr.trainee.user.username)=:trainee",
+                        String.class)
+                .setParameter("trainee", traineeUsername.toLowerCase())
+                .getResultList();
+    }
+
+    public List<String> findTraineeUsernamesForTrainer(String trainerUsername) {
+        return getEntityManager().createQuery(
+                        "select distinct tr.trainee.user.username from Training tr where lower(tr.trainer.user.username)=:trainer",
+                        String.class)
+                .setParameter("trainer", trainerUsername.toLowerCase())
+                .getResultList();
+    }
 }
@@ -4,9 +4,10 @@ import com.gymcrm.gym_crm_spring.domain.TrainingType;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
-public class TrainingTypeDao extends AbstractDaoJpa<TrainingType> {
+public class TrainingTypeDao extends AbstractDaoJpa<TrainingType, UUID> {
 
     public Optional<TrainingType> findByName(String name) {
         return getEntityManager()
@@ -2,12 +2,19 @@ package com.gymcrm.gym_crm_spring.dao;
 
 import com.gymcrm.gym_crm_spring.domain.User;
 import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
-public class UserDao extends AbstractDaoJpa<User> {
+public class UserDao extends AbstractDaoJpa<User, UUID> {
 
     public Optional<User> findByUsername(String username) {
         TypedQuery<User> q = getEntityManager()
@@ -15,4 +22,59 @@ public class UserDao extends AbstractDaoJpa<User> {
                 .setParameter("u", username.toLowerCase());
         return q.getResultStream().findFirst();
     }
+
+    /**
+     * Compare-and-set of the password hash: the update only matches while the stored hash is
+     * still {@code expectedHash}.
+     *
+     * @return whether the password was replaced
+     */
+    public boolean replacePassword(String username, String expectedHash, String newHash) {
+        int updated = getEntityManager()
+                .createQuery("update User u set u.password = :new where lower(u.username) = :u and u.password = :expected")
+                .setParameter("new", newHash)
+                .setParameter("u", username.toLowerCase())
+                .setParameter("expected", expectedHash)
+                .executeUpdate();
+        // the bulk update bypasses the persistence context; a copy loaded earlier in this transaction would keep the old hash
+        if (updated > 0 && getEntityManager().unwrap(Session.class).getStatistics().getEntityCount() > 0) {
+            findByUsername(username).ifPresent(getEntityManager()::refresh);
+        }
+        return updated > 0;
+    }
+
+    public long countActive() {
+        return getEntityManager().createQuery("select count(u) from User u where u.active = true", Long.class)
+                .getSingleResult();
+    }
+
+    /**
+     * Lowercased usernames starting with {@code prefix} (case-insensitive); used to pick a free
+     * numbered variant in one query.
+     */
+    public Set<String> findUsernamesStartingWith(String prefix) {
+        String escaped = prefix.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return getEntityManager()
+                .createQuery("select lower(u.username) from User u where lower(u.username) like :p escape '\\'", String.class)
+                .setParameter("p", escaped + "%")
+                .getResultStream()
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Streams all usernames with a large fetch size, so the caller never holds the whole
+     * table in memory. Must run inside a transaction.
+     */
+    public void forEachUsername(Consumer<String> action) {
+        try (Stream<String> usernames = getEntityManager()
+                .createQuery("select u.username from User u", String.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, 1000)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            usernames.forEach(action);
+        }
+    }
 }
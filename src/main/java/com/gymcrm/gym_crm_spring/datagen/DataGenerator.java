@@ -0,0 +1,271 @@
+package com.gymcrm.gym_crm_spring.datagen;
+
+import com.gymcrm.gym_crm_spring.utils.UuidV7;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Fills the database with a synthetic dataset for benchmarks and capacity tests
+ * ({@code --spring.profiles.active=datagen}). Rows are written with plain JDBC batches
+ * and client-side UUIDs; trainer popularity and trainee activity follow Zipf-like
+ * distributions. Every generated user shares one password ({@code gymcrm.datagen.password}),
+ * hashed once.
+ * <p>
+ * {@code gymcrm.datagen.id-strategy} picks time-ordered ({@code v7}, what the application
+ * uses) or fully random ({@code random}) keys. Insert throughput and the resulting primary
+ * key index sizes are logged, so running both against empty databases, e.g. with
+ * {@code --gymcrm.datagen.trainings=10000000}, compares the two.
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+public class DataGenerator implements CommandLineRunner {
+
+    private static final String[] FIRST_NAMES = {"James", "Mary", "John", "Patricia", "Robert", "Jennifer",
+            "Michael", "Linda", "William", "Elizabeth", "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica",
+            "Thomas", "Sarah", "Charles", "Karen", "Olena", "Taras", "Andrii", "Iryna"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+            "Miller", "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Wilson", "Anderson", "Taylor",
+            "Moore", "Shevchenko", "Kovalenko", "Bondarenko", "Tkachenko"};
+    private static final String[] SESSION_NAMES = {"Morning session", "Evening session", "Personal training",
+            "Group class", "Technique drill", "Endurance", "Recovery"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int trainees;
+    private final int trainers;
+    private final long trainings;
+    private final int assignmentsPerTrainee;
+    private final int batchSize;
+    private final int writerThreads;
+    private final long seed;
+    private final String password;
+    private final Supplier<UUID> ids;
+
+    public DataGenerator(JdbcTemplate jdbcTemplate,
+                         @Value("${gymcrm.datagen.trainees:100000}") int trainees,
+                         @Value("${gymcrm.datagen.trainers:1000}") int trainers,
+                         @Value("${gymcrm.datagen.trainings:1000000}") long trainings,
+                         @Value("${gymcrm.datagen.assignments-per-trainee:3}") int assignmentsPerTrainee,
+                         @Value("${gymcrm.datagen.batch-size:5000}") int batchSize,
+                         @Value("${gymcrm.datagen.writer-threads:4}") int writerThreads,
+                         @Value("${gymcrm.datagen.seed:42}") long seed,
+                         @Value("${gymcrm.datagen.password:Passw0rd!}") String password,
+                         @Value("${gymcrm.datagen.id-strategy:v7}") String idStrategy) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.trainees = trainees;
+        this.trainers = trainers;
+        this.trainings = trainings;
+        this.assignmentsPerTrainee = assignmentsPerTrainee;
+        this.batchSize = batchSize;
+        this.writerThreads = writerThreads;
+        this.seed = seed;
+        this.password = password;
+        this.ids = switch (idStrategy) {
+            case "v7" -> UuidV7::generate;
+            case "random" -> UUID::randomUUID;
+            default -> throw new IllegalArgumentException("Unknown gymcrm.datagen.id-strategy: " + idStrategy);
+        };
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        List<UUID> trainingTypes = jdbcTemplate.queryForList("select id from training_type order by training_type_name", UUID.class);
+        if (trainingTypes.isEmpty()) {
+            throw new IllegalStateException("No training types found, run the Flyway migrations first");
+        }
+        long started = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(seed);
+        String passwordHash = new BCryptPasswordEncoder().encode(password);
+
+        UUID[] trainerIds = newIds(trainers);
+        UUID[] trainerTypes = new UUID[trainers];
+        for (int i = 0; i < trainers; i++) {
+            trainerTypes[i] = trainingTypes.get(random.nextInt(trainingTypes.size()));
+        }
+        insertUsers(trainerIds, "trainer", passwordHash, random);
+        batch("insert into trainer (id, specialization_id) values (?, ?)", trainers,
+                (i, row) -> {
+                    row[0] = trainerIds[i];
+                    row[1] = trainerTypes[i];
+                });
+        log.info("Generated {} trainers", trainers);
+
+        UUID[] traineeIds = newIds(trainees);
+        insertUsers(traineeIds, "trainee", passwordHash, random);
+        LocalDate today = LocalDate.now();
+        batch("insert into trainee (id, date_of_birth, address) values (?, ?, ?)", trainees,
+                (i, row) -> {
+                    row[0] = traineeIds[i];
+                    row[1] = Date.valueOf(today.minusYears(16 + random.nextInt(50)).minusDays(random.nextInt(365)));
+                    row[2] = (1 + random.nextInt(200)) + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " street";
+                });
+        log.info("Generated {} trainees", trainees);
+
+        ZipfSampler trainerPopularity = new ZipfSampler(trainers, 1.1);
+        int[][] assigned = assignTrainers(trainerPopularity, random);
+        List<Object[]> pairs = new ArrayList<>();
+        for (int trainee = 0; trainee < trainees; trainee++) {
+            for (int trainer : assigned[trainee]) {
+                pairs.add(new Object[]{trainerIds[trainer], traineeIds[trainee]});
+                if (pairs.size() == batchSize) {
+                    jdbcTemplate.batchUpdate("insert into trainer_trainee (trainer_id, trainee_id) values (?, ?)", pairs);
+                    pairs.clear();
+                }
+            }
+        }
+        if (!pairs.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into trainer_trainee (trainer_id, trainee_id) values (?, ?)", pairs);
+        }
+        log.info("Generated trainer assignments");
+
+        long trainingsStarted = System.nanoTime();
+        insertTrainings(traineeIds, trainerIds, trainerTypes, assigned, trainerPopularity, today);
+        long trainingsMs = Math.max(1, (System.nanoTime() - trainingsStarted) / 1_000_000L);
+        log.info("Generated {} trainings in {} s ({} rows/s)", trainings, trainingsMs / 1000, trainings * 1000 / trainingsMs);
+        logIndexSizes();
+        log.info("Dataset complete in {} s", (System.nanoTime() - started) / 1_000_000_000L);
+    }
+
+    /**
+     * PostgreSQL only: the primary key indexes are where random and time-ordered keys differ.
+     */
+    private void logIndexSizes() {
+        try {
+            jdbcTemplate.queryForList("select c.relname as name, pg_relation_size(c.oid) as bytes, "
+                            + "pg_size_pretty(pg_relation_size(c.oid)) as pretty from pg_index i join pg_class c on c.oid = i.indexrelid "
+                            + "where i.indisprimary and i.indrelid in ('users'::regclass, 'training'::regclass)")
+                    .forEach(index -> log.info("Index {}: {} ({} bytes)", index.get("name"), index.get("pretty"), index.get("bytes")));
+        } catch (DataAccessException e) {
+            log.info("Index sizes not available on this database: {}", e.getMessage());
+        }
+    }
+
+    private void insertUsers(UUID[] ids, String kind, String passwordHash, SplittableRandom random) {
+        batch("insert into users (id, first_name, last_name, username, password, is_active) values (?, ?, ?, ?, ?, ?)",
+                ids.length, (i, args) -> {
+                    String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                    String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                    args[0] = ids[i];
+                    args[1] = first;
+                    args[2] = last;
+                    // suffix keeps usernames unique without a lookup per row
+                    args[3] = first.toLowerCase() + "." + last.toLowerCase() + "." + kind + i;
+                    args[4] = passwordHash;
+                    args[5] = random.nextInt(10) != 0;
+                });
+    }
+
+    private int[][] assignTrainers(ZipfSampler trainerPopularity, SplittableRandom random) {
+        int[][] assigned = new int[trainees][];
+        for (int trainee = 0; trainee < trainees; trainee++) {
+            int count = Math.min(trainers, random.nextInt(2 * assignmentsPerTrainee + 1));
+            int[] picked = new int[count];
+            int filled = 0;
+            while (filled < count) {
+                int candidate = trainerPopularity.next(random);
+                boolean duplicate = false;
+                for (int j = 0; j < filled && !duplicate; j++) {
+                    duplicate = picked[j] == candidate;
+                }
+                if (!duplicate) {
+                    picked[filled++] = candidate;
+                }
+            }
+            assigned[trainee] = picked;
+        }
+        return assigned;
+    }
+
+    /**
+     * Trainings are independent rows, so chunks are generated and written by several
+     * threads, each with its own deterministic random stream.
+     */
+    private void insertTrainings(UUID[] traineeIds, UUID[] trainerIds, UUID[] trainerTypes, int[][] assigned,
+                                 ZipfSampler trainerPopularity, LocalDate today) throws Exception {
+        ZipfSampler traineeActivity = new ZipfSampler(trainees, 0.8);
+        long chunks = (trainings + batchSize - 1) / batchSize;
+        ExecutorService writers = Executors.newFixedThreadPool(writerThreads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long chunk = 0; chunk < chunks; chunk++) {
+                long chunkIndex = chunk;
+                int rows = (int) Math.min(batchSize, trainings - chunk * batchSize);
+                futures.add(writers.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed ^ (chunkIndex * 0x9E3779B97F4A7C15L));
+                    List<Object[]> batch = new ArrayList<>(rows);
+                    for (int i = 0; i < rows; i++) {
+                        int trainee = traineeActivity.next(random);
+                        int[] own = assigned[trainee];
+                        int trainer = own.length > 0 ? own[random.nextInt(own.length)] : trainerPopularity.next(random);
+                        int duration = Math.max(10, Math.min(300, (int) Math.round(60 + random.nextDouble(-1, 1) * 45) / 5 * 5));
+                        batch.add(new Object[]{ids.get(), traineeIds[trainee], trainerIds[trainer],
+                                SESSION_NAMES[random.nextInt(SESSION_NAMES.length)], trainerTypes[trainer],
+                                Date.valueOf(today.minusDays(random.nextInt(730))), duration});
+                    }
+                    jdbcTemplate.batchUpdate("insert into training (id, trainee_id, trainer_id, training_name, "
+                            + "training_type_id, training_date, training_duration) values (?, ?, ?, ?, ?, ?, ?)", batch);
+                }));
+            }
+            long done = 0;
+            for (Future<?> future : futures) {
+                future.get();
+                if (++done % 200 == 0) {
+                    log.info("Trainings: {} / {}", Math.min(done * batchSize, trainings), trainings);
+                }
+            }
+        } finally {
+            writers.shutdownNow();
+        }
+    }
+
+    private void batch(String sql, int count, RowFiller filler) {
+        int parameters = countParameters(sql);
+        List<Object[]> rows = new ArrayList<>(Math.min(count, batchSize));
+        for (int i = 0; i < count; i++) {
+            Object[] args = new Object[parameters];
+            filler.fill(i, args);
+            rows.add(args);
+            if (rows.size() == batchSize) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+
+    private static int countParameters(String sql) {
+        return (int) sql.chars().filter(c -> c == '?').count();
+    }
+
+    private UUID[] newIds(int count) {
+        UUID[] generated = new UUID[count];
+        for (int i = 0; i < count; i++) {
+            generated[i] = ids.get();
+        }
+        return generated;
+    }
+
+    @FunctionalInterface
+    private interface RowFiller {
+        void fill(int index, Object[] args);
+    }
+}
@@ -0,0 +1,34 @@
+package com.gymcrm.gym_crm_spring.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Samples ranks {@code 0..n-1} with probability proportional to {@code 1 / (rank + 1)^exponent},
+ * so a few items (popular trainers, very active trainees) take most of the picks.
+ */
+class ZipfSampler {
+
+    private final double[] cumulative;
+
+    ZipfSampler(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Zipf sampler needs at least one item");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    int next(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
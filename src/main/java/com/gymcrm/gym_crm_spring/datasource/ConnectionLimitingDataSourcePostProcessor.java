@@ -0,0 +1,89 @@
+package com.gymcrm.gym_crm_spring.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Wraps the data source in a {@link ConnectionLimitingDataSource} with as many permits as
+ * the Hikari pool has connections. Runs after the query-timing wrapper, so the wait for a
+ * permit is not counted as query time, and before {@link LazyConnectionDataSourcePostProcessor},
+ * so a permit is only taken for a physical connection.
+ * <p>
+ * A {@link ReadWriteRoutingDataSource} fronts two pools of different sizes, so it is left
+ * alone here; {@code ReadReplicaDataSourceConfig} limits each pool through {@link #limit}
+ * before handing it to the router.
+ */
+@Component
+@ConditionalOnProperty(name = "gymcrm.datasource.concurrency-limit.enabled", havingValue = "true")
+public class ConnectionLimitingDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+    private final int defaultPoolSize;
+    private final long acquireTimeoutMs;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ConnectionLimitingDataSourcePostProcessor(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int defaultPoolSize,
+            @Value("${spring.datasource.hikari.connection-timeout:30000}") long acquireTimeoutMs,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.defaultPoolSize = defaultPoolSize;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitingDataSource)
+                && !isWrapperFor(dataSource, ReadWriteRoutingDataSource.class)) {
+            return limit(dataSource, "primary");
+        }
+        return bean;
+    }
+
+    /**
+     * Limits one pool to as many concurrent callers as it has connections; the waiting
+     * callers are published as {@code gymcrm.datasource.permits.waiting{pool}}.
+     */
+    public ConnectionLimitingDataSource limit(DataSource pool, String poolName) {
+        var limited = new ConnectionLimitingDataSource(pool, maximumPoolSize(pool), acquireTimeoutMs);
+        meterRegistry.ifAvailable(registry -> Gauge.builder("gymcrm.datasource.permits.waiting", limited,
+                        ConnectionLimitingDataSource::waitingCallers)
+                .description("Callers queued for a database connection permit")
+                .tag("pool", poolName)
+                .register(registry));
+        return limited;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 1;
+    }
+
+    private int maximumPoolSize(DataSource pool) {
+        if (!isWrapperFor(pool, HikariDataSource.class)) {
+            return defaultPoolSize;
+        }
+        try {
+            return pool.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        } catch (SQLException e) {
+            return defaultPoolSize;
+        }
+    }
+
+    private static boolean isWrapperFor(DataSource dataSource, Class<?> type) {
+        try {
+            return type.isInstance(dataSource) || dataSource.isWrapperFor(type);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
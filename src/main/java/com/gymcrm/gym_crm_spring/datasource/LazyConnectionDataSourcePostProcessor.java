@@ -0,0 +1,34 @@
+package com.gymcrm.gym_crm_spring.datasource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Makes a {@link LazyConnectionDataSourceProxy} the outermost data source wrapper, so a
+ * transaction borrows a pooled connection (and a permit, and starts the hold timer) only
+ * when its first statement runs, not when it begins. Work done at the start of a
+ * transaction, such as password hashing, then holds no connection.
+ * <p>
+ * Wrapping order, innermost first: pool, query timing, connection limiting, lazy proxy; with a
+ * replica: each pool with its own connection limit, read/write routing, query timing, lazy proxy.
+ */
+@Component
+public class LazyConnectionDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof LazyConnectionDataSourceProxy)) {
+            return new LazyConnectionDataSourceProxy(dataSource);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
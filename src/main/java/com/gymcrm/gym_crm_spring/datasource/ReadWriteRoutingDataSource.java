@@ -0,0 +1,45 @@
+package com.gymcrm.gym_crm_spring.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * The route is picked when the physical connection is fetched, so this relies on the
+ * {@link LazyConnectionDataSourcePostProcessor} proxy in front of it: the transaction
+ * manager asks for a connection before the read-only flag of the transaction is published.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReadYourWritesTracker readYourWrites;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesTracker readYourWrites) {
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Route.PRIMARY;
+        }
+        String subject = readYourWrites.currentSubject();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWrites.recordWriteAfterCommit(subject);
+            return Route.PRIMARY;
+        }
+        return readYourWrites.isPinnedToPrimary() || readYourWrites.isWithinWindow(subject)
+                ? Route.PRIMARY
+                : Route.REPLICA;
+    }
+}
@@ -0,0 +1,119 @@
+package com.gymcrm.gym_crm_spring.datasource;
+
+import com.gymcrm.gym_crm_spring.security.TokenStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Remembers which users committed a write recently, so that their own reads keep going to
+ * the primary until the replica has had time to catch up
+ * ({@code gymcrm.datasource.replica.read-your-writes-window-ms}).
+ * <p>
+ * The user behind the current request is the owner of the {@code X-Auth-Token}, or, for
+ * unauthenticated calls such as login, the {@code username} request parameter.
+ * <p>
+ * Reads run through {@link #readFromPrimary} also stay on the primary, whoever asks. Caches
+ * use it for the loads they store under the current version tag, which a lagging replica
+ * may not have caught up with yet.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final TokenStore tokenStore;
+    private final long windowNanos;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(TokenStore tokenStore,
+                                 @Value("${gymcrm.datasource.replica.read-your-writes-window-ms:5000}") long windowMs) {
+        this.tokenStore = tokenStore;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+    }
+
+    public String currentSubject() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        var request = attributes.getRequest();
+        String token = request.getHeader("X-Auth-Token");
+        if (token != null && !token.isBlank()) {
+            var username = tokenStore.validateToken(token);
+            if (username.isPresent()) {
+                return username.get().toLowerCase(Locale.ROOT);
+            }
+        }
+        String username = request.getParameter("username");
+        return username == null || username.isBlank() ? null : username.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Starts the window for {@code subject} once the current transaction commits, or
+     * immediately when there is no transaction.
+     */
+    public void recordWriteAfterCommit(String subject) {
+        if (subject == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recordWrite(subject);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordWrite(subject);
+            }
+        });
+    }
+
+    public <T> T readFromPrimary(Supplier<T> read) {
+        if (Boolean.TRUE.equals(PINNED_TO_PRIMARY.get())) {
+            return read.get();
+        }
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PINNED_TO_PRIMARY.remove();
+        }
+    }
+
+    public boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED_TO_PRIMARY.get());
+    }
+
+    public boolean isWithinWindow(String subject) {
+        if (subject == null) {
+            return false;
+        }
+        Long writtenAt = lastWrites.get(subject);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - writtenAt < windowNanos) {
+            return true;
+        }
+        lastWrites.remove(subject, writtenAt);
+        return false;
+    }
+
+    private void recordWrite(String subject) {
+        long now = System.nanoTime();
+        lastWrites.put(subject.toLowerCase(Locale.ROOT), now);
+        if (lastWrites.size() > PURGE_THRESHOLD) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.gymcrm.gym_crm_spring.domain;
+
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+
+/**
+ * Tracks whether an entity instance has a row yet. Ids are assigned before insert, so
+ * a non-null id no longer tells a new entity from a detached one; this flag does, and
+ * lets the DAO {@code persist} new entities instead of paying for {@code merge}'s lookup
+ * and copy.
+ */
+@MappedSuperclass
+public abstract class BaseEntity {
+
+    @Transient
+    private transient boolean persisted;
+
+    /**
+     * {@code true} until the instance has been inserted or was loaded from the database.
+     */
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
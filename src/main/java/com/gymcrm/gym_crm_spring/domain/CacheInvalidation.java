@@ -0,0 +1,56 @@
+package com.gymcrm.gym_crm_spring.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Outbox row telling other nodes that a cached read model changed; written in the same
+ * transaction as the change itself. Rows are inserted with a JDBC batch by
+ * {@code CacheInvalidationBus}; the entity is used to read and prune them.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@ToString(onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
+@Table(name = "cache_invalidation", indexes = @Index(name = "idx_cache_invalidation_created_at", columnList = "created_at"))
+public class CacheInvalidation extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "resource_type", nullable = false, length = 32)
+    @ToString.Include
+    private String resourceType;
+
+    @Column(name = "username", length = 100)
+    @ToString.Include
+    private String username;
+
+    @Column(name = "origin", nullable = false, length = 64)
+    private String origin;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -6,6 +6,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
@@ -31,12 +32,16 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @ToString
-@EqualsAndHashCode
+@EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
 @Entity
 @Table(name = "TRAINEE")
-public class Trainee {
+public class Trainee extends BaseEntity {
 
+    /**
+     * Same as the user's id; set together with {@link #user} so it is known before insert.
+     */
     @Id
+    @EqualsAndHashCode.Include
     private UUID id;
 
     /**
@@ -46,7 +51,6 @@ public class Trainee {
     @MapsId
     @JoinColumn(name = "ID")
     @ToString.Exclude
-    @EqualsAndHashCode.Exclude
     private User user;
 
     @Column(name = "DATE_OF_BIRTH")
@@ -55,15 +59,36 @@ public class Trainee {
     @Column(name = "ADDRESS", length = 255)
     private String address;
 
-    @ManyToMany(mappedBy = "assignedTrainees", fetch = FetchType.LAZY)
+    /**
+     * Owns {@code trainer_trainee}: a trainee has a handful of trainers, while a popular
+     * trainer may have thousands of trainees, so assignments are changed from this side.
+     */
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(
+            name = "TRAINER_TRAINEE",
+            joinColumns = @JoinColumn(name = "TRAINEE_ID"),
+            inverseJoinColumns = @JoinColumn(name = "TRAINER_ID")
+    )
     @Builder.Default
     @ToString.Exclude
-    @EqualsAndHashCode.Exclude
     private Set<Trainer> assignedTrainers = new HashSet<>();
 
     @OneToMany(mappedBy = "trainee", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     @ToString.Exclude
-    @EqualsAndHashCode.Exclude
     private Set<Training> trainings = new HashSet<>();
+
+    public void setUser(User user) {
+        this.user = user;
+        this.id = user == null ? null : user.getId();
+    }
+
+    public static class TraineeBuilder {
+
+        public TraineeBuilder user(User user) {
+            this.user = user;
+            this.id = user == null ? null : user.getId();
+            return this;
+        }
+    }
 }
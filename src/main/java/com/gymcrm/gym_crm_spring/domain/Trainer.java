@@ -5,7 +5,6 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -32,11 +31,14 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @ToString
-@EqualsAndHashCode
+@EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
 @Entity
 @Table(name = "TRAINER")
-public class Trainer {
+public class Trainer extends BaseEntity {
 
+    /**
+     * Same as the user's id; set together with {@link #user} so it is known before insert.
+     */
     @Id
     @EqualsAndHashCode.Include
     private UUID id;
@@ -48,29 +50,34 @@ public class Trainer {
     @MapsId
     @JoinColumn(name = "ID")
     @ToString.Exclude
-    @EqualsAndHashCode.Exclude
     private User user;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "SPECIALIZATION_ID", nullable = false)
     @ToString.Exclude
-    @EqualsAndHashCode.Exclude
     private TrainingType specialization;
 
-    @ManyToMany(fetch = FetchType.LAZY)
-    @JoinTable(
-            name = "TRAINER_TRAINEE",
-            joinColumns = @JoinColumn(name = "TRAINER_ID"),
-            inverseJoinColumns = @JoinColumn(name = "TRAINEE_ID")
-    )
+    @ManyToMany(mappedBy = "assignedTrainers", fetch = FetchType.LAZY)
     @Builder.Default
     @ToString.Exclude
-    @EqualsAndHashCode.Exclude
     private Set<Trainee> assignedTrainees = new HashSet<>();
 
     @OneToMany(mappedBy = "trainer", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     @ToString.Exclude
-    @EqualsAndHashCode.Exclude
     private Set<Training> trainings = new HashSet<>();
+
+    public void setUser(User user) {
+        this.user = user;
+        this.id = user == null ? null : user.getId();
+    }
+
+    public static class TrainerBuilder {
+
+        public TrainerBuilder user(User user) {
+            this.user = user;
+            this.id = user == null ? null : user.getId();
+            return this;
+        }
+    }
 }
@@ -3,10 +3,10 @@ package com.gymcrm.gym_crm_spring.domain;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 
 import lombok.AllArgsConstructor;
@@ -17,7 +17,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
-import org.hibernate.annotations.UuidGenerator;
+import com.gymcrm.gym_crm_spring.utils.UuidV7;
 
 import java.time.LocalDate;
 import java.util.UUID;
@@ -28,26 +28,23 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @ToString
-@EqualsAndHashCode
+@EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
 @Entity
 @Table(name = "training")
-public class Training {
+public class Training extends BaseEntity {
 
     @Id
-    @GeneratedValue
-    @UuidGenerator
+    @EqualsAndHashCode.Include
     private UUID id;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "trainee_id", nullable = false)
     @ToString.Exclude
-    @EqualsAndHashCode.Exclude
     private Trainee trainee;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "trainer_id", nullable = false)
     @ToString.Exclude
-    @EqualsAndHashCode.Exclude
     private Trainer trainer;
 
     @Column(name = "training_name", nullable = false, length = 200)
@@ -56,7 +53,6 @@ public class Training {
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "training_type_id", nullable = false)
     @ToString.Exclude
-    @EqualsAndHashCode.Exclude
     private TrainingType trainingType;
 
     @Column(name = "training_date", nullable = false)
@@ -64,4 +60,19 @@ public class Training {
 
     @Column(name = "training_duration", nullable = false)
     private Integer trainingDuration;
+
+    /**
+     * Generated on first use, like {@link User#getId()}.
+     */
+    public UUID getId() {
+        if (id == null) {
+            id = UuidV7.generate();
+        }
+        return id;
+    }
+
+    @PrePersist
+    void assignId() {
+        getId();
+    }
 }
@@ -2,19 +2,19 @@ package com.gymcrm.gym_crm_spring.domain;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
-import lombok.experimental.SuperBuilder;
 
-import org.hibernate.annotations.UuidGenerator;
+import com.gymcrm.gym_crm_spring.utils.UuidV7;
 
 import java.util.UUID;
 
@@ -22,18 +22,32 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@SuperBuilder
+@Builder
 @Entity
 @ToString(onlyExplicitlyIncluded = true)
-@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
 @Table(name = "training_type")
-public class TrainingType {
+public class TrainingType extends BaseEntity {
 
     @Id
-    @GeneratedValue
-    @UuidGenerator
+    @EqualsAndHashCode.Include
     private UUID id;
 
     @Column(name = "training_type_name", nullable = false, length = 100)
     private String trainingTypeName;
+
+    /**
+     * Generated on first use, like {@link User#getId()}.
+     */
+    public UUID getId() {
+        if (id == null) {
+            id = UuidV7.generate();
+        }
+        return id;
+    }
+
+    @PrePersist
+    void assignId() {
+        getId();
+    }
 }
@@ -2,8 +2,8 @@ package com.gymcrm.gym_crm_spring.domain;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 
 import lombok.AllArgsConstructor;
@@ -13,7 +13,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
-import org.hibernate.annotations.UuidGenerator;
+
+import com.gymcrm.gym_crm_spring.utils.UuidV7;
 
 import java.util.UUID;
 
@@ -23,14 +24,17 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @ToString(onlyExplicitlyIncluded = true)
-@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
 @Entity
 @Table(name = "USERS")
-public class User {
+public class User extends BaseEntity {
 
+    /**
+     * Assigned on first use rather than on insert, so equality and hash codes are stable
+     * from the start and the trainee/trainer sharing this id can be keyed by it right away;
+     * see {@link #getId()}. Time-ordered, so inserts append to the primary key index.
+     */
     @Id
-    @GeneratedValue
-    @UuidGenerator
     @EqualsAndHashCode.Include
     @Column(nullable = false, updatable = false)
     private UUID id;
@@ -49,5 +53,21 @@ public class User {
 
     @Column(name = "IS_ACTIVE", nullable = false)
     private Boolean active;
+
+    /**
+     * Generates the id the first time it is asked for. Hibernate sets the field directly
+     * when loading, so rows read from the database never pay for a new id.
+     */
+    public UUID getId() {
+        if (id == null) {
+            id = UuidV7.generate();
+        }
+        return id;
+    }
+
+    @PrePersist
+    void assignId() {
+        getId();
+    }
 }
 
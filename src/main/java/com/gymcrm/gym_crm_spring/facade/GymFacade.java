@@ -1,5 +1,13 @@
 package com.gymcrm.gym_crm_spring.facade;
 
+import com.gymcrm.gym_crm_spring.cache.ProfileCache;
+import com.gymcrm.gym_crm_spring.cache.ProfileChangedEvent;
+import com.gymcrm.gym_crm_spring.cache.ProfileType;
+import com.gymcrm.gym_crm_spring.cache.ResourceVersions;
+import com.gymcrm.gym_crm_spring.cache.SingleFlight;
+import com.gymcrm.gym_crm_spring.cache.TrainingHistoryCache;
+import com.gymcrm.gym_crm_spring.cache.UsernameIndex;
+import com.gymcrm.gym_crm_spring.datasource.ReadYourWritesTracker;
 import com.gymcrm.gym_crm_spring.domain.Trainee;
 import com.gymcrm.gym_crm_spring.domain.Trainer;
 import com.gymcrm.gym_crm_spring.domain.Training;
@@ -37,63 +45,112 @@ import com.gymcrm.gym_crm_spring.service.TrainingTypeService;
 import com.gymcrm.gym_crm_spring.service.UserService;
 import com.gymcrm.gym_crm_spring.utils.UserUtils;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class GymFacade {
 
+    // compared against when the user does not exist; same cost factor as the configured encoder
+    private static final String UNKNOWN_USER_HASH = new BCryptPasswordEncoder().encode("unknown-user");
+
     private final TraineeService traineeService;
     private final TrainerService trainerService;
     private final UserService userService;
     private final TrainingTypeService trainingTypeService;
     private final BCryptPasswordEncoder encoder;
     private final TrainingService trainingService;
+    private final ReadYourWritesTracker readYourWrites;
+    private final ResourceVersions resourceVersions;
+    private final ProfileCache profileCache;
+    private final SingleFlight singleFlight;
+    private final TrainingHistoryCache trainingHistoryCache;
+    private final UsernameIndex usernameIndex;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
     public TraineeRegistrationResponse registerTrainee(TraineeRegistrationRequest request) {
-        checkIfUserAlreadyExists(request.firstName(), request.lastName());
+        var password = newPassword();
+        return register(indexTrusted -> {
+            checkIfUserAlreadyExists(request.firstName(), request.lastName());
 
-        var userWithPassword = createAndPrepareUser(request.firstName(), request.lastName());
-        var user = userWithPassword.user();
-        var rawPassword = userWithPassword.rawPassword();
+            var userWithPassword = createAndPrepareUser(request.firstName(), request.lastName(), password, indexTrusted);
+            var user = userWithPassword.user();
+            var rawPassword = userWithPassword.rawPassword();
 
-        Trainee trainee = Trainee.builder()
-                .user(user)
-                .dateOfBirth(request.dateOfBirth().orElse(null))
-                .address(request.address().orElse(null))
-                .build();
+            Trainee trainee = Trainee.builder()
+                    .user(user)
+                    .dateOfBirth(request.dateOfBirth().orElse(null))
+                    .address(request.address().orElse(null))
+                    .build();
 
-        traineeService.save(trainee);
+            traineeService.save(trainee);
+            events.publishEvent(ProfileChangedEvent.of(ProfileType.TRAINEE, user.getUsername()));
 
-        return new TraineeRegistrationResponse(user.getUsername(), rawPassword);
+            return new TraineeRegistrationResponse(user.getUsername(), rawPassword);
+        });
     }
 
-    @Transactional
     public TrainerRegistrationResponse registerTrainer(TrainerRegistrationRequest request) {
-        checkIfUserAlreadyExists(request.firstName(), request.lastName());
+        var password = newPassword();
+        return register(indexTrusted -> {
+            checkIfUserAlreadyExists(request.firstName(), request.lastName());
 
-        TrainingType specialization = trainingTypeService.findByName(request.specializationName())
-                .orElseThrow(() -> new TrainingTypeNotFoundException(request.specializationName()));
+            TrainingType specialization = trainingTypeService.findByName(request.specializationName())
+                    .orElseThrow(() -> new TrainingTypeNotFoundException(request.specializationName()));
 
-        var userWithPassword = createAndPrepareUser(request.firstName(), request.lastName());
-        var user = userWithPassword.user();
-        var rawPassword = userWithPassword.rawPassword();
+            var userWithPassword = createAndPrepareUser(request.firstName(), request.lastName(), password, indexTrusted);
+            var user = userWithPassword.user();
+            var rawPassword = userWithPassword.rawPassword();
 
-        Trainer trainer = Trainer.builder()
-                .user(user)
-                .specialization(specialization)
-                .build();
+            Trainer trainer = Trainer.builder()
+                    .user(user)
+                    .specialization(specialization)
+                    .build();
+
+            trainerService.save(trainer);
+            events.publishEvent(ProfileChangedEvent.of(ProfileType.TRAINER, user.getUsername()));
 
-        trainerService.save(trainer);
+            return new TrainerRegistrationResponse(user.getUsername(), rawPassword);
+        });
+    }
 
-        return new TrainerRegistrationResponse(user.getUsername(), rawPassword);
+    /**
+     * Runs a registration in its own transaction. The username index can miss a name another
+     * node registered moments ago, and two registrations can race for the same name; the
+     * insert then fails on the unique constraint and the registration is retried once with
+     * the taken names read from the database.
+     */
+    private <T> T register(Function<Boolean, T> registration) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return registration.apply(true);
+        }
+        try {
+            return transactionTemplate.execute(status -> registration.apply(true));
+        } catch (DataIntegrityViolationException e) {
+            log.info("Registration hit a taken username, retrying without the username index");
+            return transactionTemplate.execute(status -> registration.apply(false));
+        }
     }
 
 
@@ -108,67 +165,169 @@ public class GymFacade {
 
     private record UserWithPassword(User user, String rawPassword) {}
 
+    private record GeneratedPassword(String raw, String encoded) {}
 
-    private UserWithPassword createAndPrepareUser(String firstName, String lastName) {
+
+    /**
+     * Hashing takes far longer than the registration queries, so it runs before the
+     * transaction starts, while no pooled connection has been borrowed yet.
+     */
+    private GeneratedPassword newPassword() {
+        String rawPassword = UserUtils.generatePassword();
+        return new GeneratedPassword(rawPassword, encoder.encode(rawPassword));
+    }
+
+
+    /**
+     * One prefix query at most, and none when the index is trusted and rules out {@code first.last}.
+     */
+    private String generateUsername(String firstName, String lastName, boolean indexTrusted) {
+        String base = UserUtils.usernameBase(firstName, lastName);
+        if (indexTrusted && !usernameIndex.mightExist(base)) {
+            return base;
+        }
+        Set<String> taken = userService.findUsernamesStartingWith(base);
+        return UserUtils.generateUsername(firstName, lastName, taken::contains);
+    }
+
+    private UserWithPassword createAndPrepareUser(String firstName, String lastName, GeneratedPassword password,
+                                                  boolean indexTrusted) {
         User user = User.builder()
                 .firstName(firstName)
                 .lastName(lastName)
                 .active(true)
                 .build();
 
-        String username = UserUtils.generateUsername(firstName, lastName, userService.findAll());
-        String rawPassword = UserUtils.generatePassword();
-        String encodedPassword = encoder.encode(rawPassword);
+        String username = generateUsername(firstName, lastName, indexTrusted);
+        // before commit: a rollback only leaves a false positive in the index
+        usernameIndex.add(username);
+        // the new user's first login must not hit a replica that has not seen the insert yet
+        readYourWrites.recordWriteAfterCommit(username);
 
         user.setUsername(username);
-        user.setPassword(encodedPassword);
+        user.setPassword(password.encoded());
 
-        return new UserWithPassword(user, rawPassword);
+        return new UserWithPassword(user, password.raw());
     }
 
 
-    @Transactional(readOnly = true)
+    /**
+     * Not transactional: the user is loaded in its own short read-only transaction and the
+     * BCrypt check runs after the connection has gone back to the pool.
+     */
     public void login(String username, String password) {
-        var user = userService.findByUsername(username)
-                .orElseThrow(InvalidCredentialsException::new);
+        var user = findLoginUser(username, password);
 
         if (!encoder.matches(password, user.getPassword())) {
             throw new InvalidCredentialsException();
         }
     }
 
-    @Transactional
+    /**
+     * Verifies and hashes outside any transaction; the update itself only succeeds if the
+     * stored hash is still the one that was verified.
+     */
     public void changeLogin(ChangePasswordRequest request) {
-        userService.changePassword(
-                request.username(),
-                request.oldPassword(),
-                request.newPassword()
-        );
+        var user = findLoginUser(request.username(), request.oldPassword());
+
+        if (!encoder.matches(request.oldPassword(), user.getPassword())) {
+            throw new InvalidCredentialsException();
+        }
+
+        userService.replacePassword(request.username(), user.getPassword(), encoder.encode(request.newPassword()));
+    }
+
+    /**
+     * Unknown usernames are rejected without a query when the index rules them out (only while
+     * it is in sync with the other nodes, see {@link UsernameIndex}), and in
+     * every case only after the same BCrypt work as a real check, so response times do not
+     * reveal which usernames exist.
+     */
+    private User findLoginUser(String username, String password) {
+        var user = usernameIndex.mightExist(username) ? userService.findByUsername(username) : Optional.<User>empty();
+        if (user.isEmpty()) {
+            encoder.matches(password, UNKNOWN_USER_HASH);
+            throw new InvalidCredentialsException();
+        }
+        return user.get();
+    }
+
+    /**
+     * ETag of the trainee profile, read from memory. Take it before loading the profile.
+     */
+    public String getTraineeProfileVersion(String username) {
+        return resourceVersions.etag(ProfileType.TRAINEE, username);
+    }
+
+    public String getTrainerProfileVersion(String username) {
+        return resourceVersions.etag(ProfileType.TRAINER, username);
+    }
+
+    public String getTrainingTypesVersion() {
+        return resourceVersions.etag(ProfileType.TRAINING_TYPES);
     }
 
-    @Transactional(readOnly = true)
     public TraineeProfileResponse getTraineeProfile(String username) {
-        return traineeService.getProfile(username);
+        return profileCache.traineeProfile(username, name -> singleFlight.execute("trainee-profile",
+                versionedKey(ProfileType.TRAINEE, name), () -> traineeService.getProfile(name)));
     }
 
     @Transactional
     public TraineeProfileUpdateResponse updateTraineeProfile(TraineeProfileUpdateRequest request) {
-        return traineeService.updateProfile(request);
+        boolean renamed = traineeService.findByUsername(request.username())
+                .map(trainee -> isRenamed(trainee.getUser(), request.firstName(), request.lastName()))
+                .orElse(false);
+        var response = traineeService.updateProfile(request);
+        events.publishEvent(ProfileChangedEvent.of(ProfileType.TRAINEE, response.username()));
+        // trainer profiles list their trainees by name
+        response.trainers().forEach(trainer ->
+                events.publishEvent(ProfileChangedEvent.of(ProfileType.TRAINER, trainer.username())));
+        // training lists can be filtered by trainee name: only those of trainers who trained this trainee change
+        if (renamed) {
+            trainingService.findTrainerUsernamesForTrainee(response.username()).forEach(trainer ->
+                    events.publishEvent(ProfileChangedEvent.of(ProfileType.TRAINER_TRAININGS, trainer)));
+        }
+        return response;
     }
 
     @Transactional
     public void deleteTraineeProfile(String username) {
+        // the trainee drops out of its trainers' profiles, and its trainings out of the lists of the trainers they were with
+        List<String> assignedTrainers = trainerService.findUsernamesAssignedTo(username);
+        List<String> trainers = trainingService.findTrainerUsernamesForTrainee(username);
         traineeService.deleteByUsername(username);
+        usernameIndex.recordDeletion();
+        events.publishEvent(ProfileChangedEvent.of(ProfileType.TRAINEE, username));
+        assignedTrainers.forEach(trainer -> events.publishEvent(ProfileChangedEvent.of(ProfileType.TRAINER, trainer)));
+        events.publishEvent(ProfileChangedEvent.of(ProfileType.TRAINEE_TRAININGS, username));
+        trainers.forEach(trainer -> events.publishEvent(ProfileChangedEvent.of(ProfileType.TRAINER_TRAININGS, trainer)));
     }
 
-    @Transactional(readOnly = true)
     public TrainerProfileResponse getTrainerProfile(String username) {
-        return trainerService.getProfile(username);
+        return profileCache.trainerProfile(username, name -> singleFlight.execute("trainer-profile",
+                versionedKey(ProfileType.TRAINER, name), () -> trainerService.getProfile(name)));
     }
 
     @Transactional
     public TrainerProfileUpdateResponse updateTrainerProfile(TrainerProfileUpdateRequest request) {
-        return trainerService.updateProfile(request);
+        boolean renamed = trainerService.findByUsername(request.username())
+                .map(trainer -> isRenamed(trainer.getUser(), request.firstName(), request.lastName()))
+                .orElse(false);
+        var response = trainerService.updateProfile(request);
+        events.publishEvent(ProfileChangedEvent.of(ProfileType.TRAINER, response.username()));
+        // trainee profiles list their trainers by name
+        response.trainees().forEach(trainee ->
+                events.publishEvent(ProfileChangedEvent.of(ProfileType.TRAINEE, trainee.username())));
+        // training lists can be filtered by trainer name: only those of trainees this trainer trained change
+        if (renamed) {
+            trainingService.findTraineeUsernamesForTrainer(response.username()).forEach(trainee ->
+                    events.publishEvent(ProfileChangedEvent.of(ProfileType.TRAINEE_TRAININGS, trainee)));
+        }
+        return response;
+    }
+
+    private static boolean isRenamed(User user, String firstName, String lastName) {
+        return !Objects.equals(user.getFirstName(), firstName) || !Objects.equals(user.getLastName(), lastName);
     }
     @Transactional(readOnly = true)
     public List<TrainerShortResponse> getNotAssignedActiveTrainers(String traineeUsername) {
@@ -177,10 +336,17 @@ public class GymFacade {
 
     @Transactional
     public TraineeTrainerListUpdateResponse updateTraineeTrainerList(TraineeTrainerListUpdateRequest request) {
-        return traineeService.updateTrainerList(request);
+        // both the dropped and the newly assigned trainers' trainee lists change
+        Set<String> trainers = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        trainers.addAll(trainerService.findUsernamesAssignedTo(request.traineeUsername()));
+        var response = traineeService.updateTrainerList(request);
+        response.trainers().forEach(trainer -> trainers.add(trainer.username()));
+
+        events.publishEvent(ProfileChangedEvent.of(ProfileType.TRAINEE, request.traineeUsername()));
+        trainers.forEach(trainer -> events.publishEvent(ProfileChangedEvent.of(ProfileType.TRAINER, trainer)));
+        return response;
     }
 
-    @Transactional(readOnly = true)
     public List<TraineeTrainingResponse> getTraineeTrainings(
             String username,
             LocalDate from,
@@ -188,31 +354,24 @@ public class GymFacade {
             String trainerName,
             String trainingType
     ) {
-        return traineeService.getTraineeTrainings(username, from, to, trainerName, trainingType);
+        return trainingHistoryCache.get(ProfileType.TRAINEE_TRAININGS, username,
+                Arrays.asList(from, to, trainerName, trainingType), List::size,
+                () -> singleFlight.execute("trainee-trainings",
+                        versionedKey(ProfileType.TRAINEE_TRAININGS, username, from, to, trainerName, trainingType),
+                        () -> traineeService.getTraineeTrainings(username, from, to, trainerName, trainingType)));
     }
 
-    @Transactional(readOnly = true)
     public TrainerTrainingsListResponse getTrainerTrainingsList(
             String username,
             LocalDate from,
             LocalDate to,
             String traineeName
     ) {
-        var trainer = trainerService.findByUsername(username)
-                .orElseThrow(() -> new TrainerNotFoundException(username));
-
-        var trainings = trainingService.findByCriteriaForTrainer(username, from, to, traineeName)
-                .stream()
-                .map(training -> new TrainerTrainingsListResponse.TrainerTrainingResponse(
-                        training.getTrainingName(),
-                        training.getTrainingDate(),
-                        training.getTrainingType().getTrainingTypeName(),
-                        training.getTrainingDuration(),
-                        training.getTrainee().getUser().getUsername()
-                ))
-                .toList();
-
-        return new TrainerTrainingsListResponse(trainings);
+        return trainingHistoryCache.get(ProfileType.TRAINER_TRAININGS, username,
+                Arrays.asList(from, to, traineeName), response -> response.trainings().size(),
+                () -> singleFlight.execute("trainer-trainings",
+                        versionedKey(ProfileType.TRAINER_TRAININGS, username, from, to, traineeName),
+                        () -> trainerService.getTrainingsList(username, from, to, traineeName)));
     }
 
     @Transactional
@@ -232,22 +391,35 @@ public class GymFacade {
         training.setTrainingType(trainer.getSpecialization());
 
         trainingService.saveTraining(training);
+        events.publishEvent(ProfileChangedEvent.of(ProfileType.TRAINEE_TRAININGS, request.traineeUsername()));
+        events.publishEvent(ProfileChangedEvent.of(ProfileType.TRAINER_TRAININGS, request.trainerUsername()));
     }
 
     @Transactional
     public void activateTrainee(TraineeActivationRequest request) {
         traineeService.updateActivationStatus(request.username(), request.isActive());
+        events.publishEvent(ProfileChangedEvent.of(ProfileType.TRAINEE, request.username()));
     }
 
     @Transactional
     public void activateTrainer(TrainerActivationRequest request) {
         trainerService.updateActivationStatus(request.username(), request.isActive());
+        events.publishEvent(ProfileChangedEvent.of(ProfileType.TRAINER, request.username()));
     }
 
     @Transactional(readOnly = true)
     public List<TrainingTypeResponse> getAllTrainingTypes() {
-        return trainingTypeService.findAll().stream()
-                .map(tt -> new TrainingTypeResponse(tt.getId(), tt.getTrainingTypeName()))
-                .toList();
+        return trainingTypeService.getAllTrainingTypes();
+    }
+
+    /**
+     * Single-flight key that only matches reads of the same version, see {@link SingleFlight}.
+     */
+    private List<Object> versionedKey(ProfileType type, String username, Object... filters) {
+        List<Object> key = new ArrayList<>(filters.length + 2);
+        key.add(resourceVersions.etag(type, username));
+        key.add(username.toLowerCase(Locale.ROOT));
+        key.addAll(Arrays.asList(filters));
+        return key;
     }
 }
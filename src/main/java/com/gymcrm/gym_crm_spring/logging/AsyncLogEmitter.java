@@ -0,0 +1,55 @@
+package com.gymcrm.gym_crm_spring.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands trace log statements to a single background thread through a bounded queue;
+ * when the queue is full the statement is dropped and counted instead of blocking
+ * the caller.
+ */
+@Component
+@ConditionalOnProperty(name = "gymcrm.logging.sampled.enabled", havingValue = "true")
+public class AsyncLogEmitter implements DisposableBean {
+
+    private final LongAdder dropped = new LongAdder();
+    private final ThreadPoolExecutor executor;
+    private final MdcTaskDecorator mdcTaskDecorator;
+
+    public AsyncLogEmitter(@Value("${gymcrm.logging.sampled.queue-capacity:10000}") int queueCapacity,
+                           MeterRegistry meterRegistry,
+                           MdcTaskDecorator mdcTaskDecorator) {
+        this.mdcTaskDecorator = mdcTaskDecorator;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sampled-log-emitter");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> dropped.increment());
+
+        FunctionCounter.builder("gymcrm.logging.sampled.dropped", dropped, LongAdder::sum)
+                .description("Sampled trace log statements dropped because the emitter queue was full")
+                .register(meterRegistry);
+    }
+
+    public void emit(Runnable logStatement) {
+        executor.execute(mdcTaskDecorator.decorate(logStatement));
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(2, TimeUnit.SECONDS);
+    }
+}
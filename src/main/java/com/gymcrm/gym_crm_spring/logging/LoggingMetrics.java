@@ -0,0 +1,26 @@
+package com.gymcrm.gym_crm_spring.logging;
+
+import ch.qos.logback.classic.Level;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class LoggingMetrics implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        for (Level level : MeteredAsyncAppender.DISCARDABLE_LEVELS) {
+            FunctionCounter.builder("gymcrm.logging.events.dropped", level, MeteredAsyncAppender::droppedCount)
+                    .description("Log events discarded by the async appender because its queue was full")
+                    .tag("level", level.levelStr)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.gymcrm.gym_crm_spring.logging;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Carries the submitting thread's MDC (e.g. {@code transactionId}) over to the thread
+ * that runs the task. Spring Boot applies it to the auto-configured task executor.
+ */
+@Component
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            setContext(context);
+            try {
+                runnable.run();
+            } finally {
+                setContext(previous);
+            }
+        };
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.gymcrm.gym_crm_spring.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AsyncAppender} that counts the events it discards on overflow, per level.
+ * Logback instantiates appenders outside the Spring context, so the counters are
+ * static and published to Micrometer by {@link LoggingMetrics}.
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+    static final List<Level> DISCARDABLE_LEVELS = List.of(Level.TRACE, Level.DEBUG, Level.INFO);
+
+    private static final Map<Level, LongAdder> DROPPED = Map.of(
+            Level.TRACE, new LongAdder(),
+            Level.DEBUG, new LongAdder(),
+            Level.INFO, new LongAdder()
+    );
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            LongAdder counter = DROPPED.get(event.getLevel());
+            if (counter != null) counter.increment();
+        }
+        return discardable;
+    }
+
+    public static long droppedCount(Level level) {
+        LongAdder counter = DROPPED.get(level);
+        return counter == null ? 0 : counter.sum();
+    }
+}
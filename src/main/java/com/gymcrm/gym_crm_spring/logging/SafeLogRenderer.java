@@ -0,0 +1,181 @@
+package com.gymcrm.gym_crm_spring.logging;
+
+import jakarta.persistence.Entity;
+import org.hibernate.Hibernate;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Renders method arguments and results for trace logging without calling arbitrary
+ * {@code toString()} implementations: entities are printed as {@code Name#id}, lazy
+ * proxies and collections are never initialized, secrets are masked and output is
+ * truncated.
+ */
+@Component
+public class SafeLogRenderer {
+
+    private static final String MASK = "******";
+    private static final int MAX_DEPTH = 3;
+    private static final Set<String> SECRET_NAMES = Set.of("token", "secret");
+    // matched anywhere in a name, so expectedHash, passwordHash, newPassword, ... are all covered
+    private static final List<String> SECRET_FRAGMENTS = List.of("password", "hash");
+
+    private static final ClassValue<Method> ID_GETTER = new ClassValue<>() {
+        @Override
+        protected Method computeValue(Class<?> type) {
+            try {
+                return type.getMethod("getId");
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    };
+
+    private final int maxLength;
+    private final int maxElements;
+
+    public SafeLogRenderer(@Value("${gymcrm.logging.sampled.max-length:512}") int maxLength,
+                           @Value("${gymcrm.logging.sampled.max-elements:10}") int maxElements) {
+        this.maxLength = maxLength;
+        this.maxElements = maxElements;
+    }
+
+    public String renderArgs(String[] names, Object[] args) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < args.length && sb.length() < maxLength; i++) {
+            if (i > 0) sb.append(", ");
+            String name = names != null && i < names.length ? names[i] : null;
+            if (name != null) sb.append(name).append('=');
+            if (isSecret(name)) {
+                sb.append(MASK);
+            } else {
+                append(sb, args[i], 0);
+            }
+        }
+        return truncate(sb.append(']'));
+    }
+
+    public String render(Object value) {
+        StringBuilder sb = new StringBuilder();
+        append(sb, value, 0);
+        return truncate(sb);
+    }
+
+    private void append(StringBuilder sb, Object value, int depth) {
+        if (sb.length() >= maxLength) return;
+
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof HibernateProxy proxy) {
+            LazyInitializer initializer = proxy.getHibernateLazyInitializer();
+            sb.append(simpleName(initializer.getEntityName())).append('#').append(initializer.getIdentifier());
+        } else if (!Hibernate.isInitialized(value)) {
+            sb.append("<uninitialized>");
+        } else if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                || value instanceof Enum<?> || value instanceof TemporalAccessor || value instanceof UUID) {
+            sb.append(value);
+        } else if (value instanceof Collection<?> collection) {
+            appendElements(sb, collection.size(), collection.iterator(), depth);
+        } else if (value instanceof Map<?, ?> map) {
+            appendElements(sb, map.size(), map.entrySet().iterator(), depth);
+        } else if (value instanceof Map.Entry<?, ?> entry) {
+            append(sb, entry.getKey(), depth + 1);
+            sb.append('=');
+            append(sb, entry.getValue(), depth + 1);
+        } else if (value.getClass().isArray()) {
+            appendArray(sb, value, depth);
+        } else if (value.getClass().isAnnotationPresent(Entity.class)) {
+            appendEntity(sb, value);
+        } else if (value instanceof Record record) {
+            appendRecord(sb, record, depth);
+        } else {
+            sb.append(value.getClass().getSimpleName());
+        }
+    }
+
+    private void appendElements(StringBuilder sb, int size, Iterator<?> iterator, int depth) {
+        sb.append("size=").append(size);
+        if (depth >= MAX_DEPTH) return;
+        sb.append(" [");
+        for (int i = 0; i < maxElements && iterator.hasNext() && sb.length() < maxLength; i++) {
+            if (i > 0) sb.append(", ");
+            append(sb, iterator.next(), depth + 1);
+        }
+        if (size > maxElements) sb.append(", ...");
+        sb.append(']');
+    }
+
+    private void appendArray(StringBuilder sb, Object array, int depth) {
+        int length = Array.getLength(array);
+        sb.append(array.getClass().getComponentType().getSimpleName()).append("[]").append(" size=").append(length);
+        if (depth >= MAX_DEPTH || !(array instanceof Object[] elements)) return;
+        sb.append(" [");
+        for (int i = 0; i < Math.min(length, maxElements) && sb.length() < maxLength; i++) {
+            if (i > 0) sb.append(", ");
+            append(sb, elements[i], depth + 1);
+        }
+        if (length > maxElements) sb.append(", ...");
+        sb.append(']');
+    }
+
+    private void appendEntity(StringBuilder sb, Object entity) {
+        sb.append(entity.getClass().getSimpleName()).append('#');
+        Method idGetter = ID_GETTER.get(entity.getClass());
+        try {
+            sb.append(idGetter != null ? idGetter.invoke(entity) : "?");
+        } catch (ReflectiveOperationException e) {
+            sb.append('?');
+        }
+    }
+
+    private void appendRecord(StringBuilder sb, Record record, int depth) {
+        sb.append(record.getClass().getSimpleName());
+        if (depth >= MAX_DEPTH) return;
+        sb.append('[');
+        RecordComponent[] components = record.getClass().getRecordComponents();
+        for (int i = 0; i < components.length && sb.length() < maxLength; i++) {
+            if (i > 0) sb.append(", ");
+            String name = components[i].getName();
+            sb.append(name).append('=');
+            if (isSecret(name)) {
+                sb.append(MASK);
+                continue;
+            }
+            try {
+                append(sb, components[i].getAccessor().invoke(record), depth + 1);
+            } catch (ReflectiveOperationException e) {
+                sb.append('?');
+            }
+        }
+        sb.append(']');
+    }
+
+    private boolean isSecret(String name) {
+        if (name == null) return false;
+        String lower = name.toLowerCase(Locale.ROOT);
+        return SECRET_NAMES.contains(lower) || SECRET_FRAGMENTS.stream().anyMatch(lower::contains);
+    }
+
+    private String truncate(StringBuilder sb) {
+        if (sb.length() <= maxLength) return sb.toString();
+        return sb.substring(0, maxLength) + "...(truncated)";
+    }
+
+    private static String simpleName(String entityName) {
+        return entityName.substring(entityName.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,64 @@
+package com.gymcrm.gym_crm_spring.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.CodeSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load-safe counterpart of {@link ServiceLoggingAspect}: only a sampled fraction of
+ * calls is traced, rendering goes through {@link SafeLogRenderer} on the calling thread
+ * and the log statement itself is written by {@link AsyncLogEmitter}.
+ */
+@Slf4j
+@Aspect
+@Component
+@ConditionalOnProperty(name = "gymcrm.logging.sampled.enabled", havingValue = "true")
+public class SampledServiceLoggingAspect {
+
+    private final double sampleRate;
+    private final SafeLogRenderer renderer;
+    private final AsyncLogEmitter emitter;
+
+    public SampledServiceLoggingAspect(@Value("${gymcrm.logging.sampled.rate:0.01}") double sampleRate,
+                                       SafeLogRenderer renderer,
+                                       AsyncLogEmitter emitter) {
+        this.sampleRate = sampleRate;
+        this.renderer = renderer;
+        this.emitter = emitter;
+    }
+
+    @Around("execution(public * com.gymcrm.gym_crm_spring.service..*(..)) || execution(public * com.gymcrm.gym_crm_spring.facade..*(..))")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return joinPoint.proceed();
+        }
+
+        String[] parameterNames = joinPoint.getSignature() instanceof CodeSignature signature
+                ? signature.getParameterNames()
+                : null;
+        String args = renderer.renderArgs(parameterNames, joinPoint.getArgs());
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            String rendered = renderer.render(result);
+            emitter.emit(() -> log.info("Method {} with arguments {} returned {} in {} us",
+                    joinPoint.getSignature().toShortString(), args, rendered, elapsedMicros));
+            return result;
+        } catch (Throwable ex) {
+            long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            String error = ex.toString();
+            emitter.emit(() -> log.warn("Method {} with arguments {} threw {} after {} us",
+                    joinPoint.getSignature().toShortString(), args, error, elapsedMicros));
+            throw ex;
+        }
+    }
+}
@@ -6,18 +6,20 @@ import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.CodeSignature;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Arrays;
-
 @Aspect
 @Component
 @Slf4j
 @Profile("dev")
+@RequiredArgsConstructor
 public class ServiceLoggingAspect {
 
+    private final SafeLogRenderer renderer;
 
     @Pointcut("execution(public * com.gymcrm.gym_crm_spring.service..*(..)) || execution(public * com.gymcrm.gym_crm_spring.facade..*(..))")
     public void serviceMethods() {}
@@ -25,8 +27,11 @@ public class ServiceLoggingAspect {
     @Before("serviceMethods()")
     public void logMethodCall(JoinPoint joinPoint) {
         String methodName = joinPoint.getSignature().toShortString();
-        Object[] args = joinPoint.getArgs();
-        log.info("Calling method: {} with arguments {}", methodName, Arrays.toString(args));
+        String[] parameterNames = joinPoint.getSignature() instanceof CodeSignature signature
+                ? signature.getParameterNames()
+                : null;
+        // passwords and hashes are masked
+        log.info("Calling method: {} with arguments {}", methodName, renderer.renderArgs(parameterNames, joinPoint.getArgs()));
     }
 
     @AfterReturning(pointcut = "serviceMethods()", returning = "result")
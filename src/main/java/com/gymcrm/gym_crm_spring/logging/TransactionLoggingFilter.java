@@ -5,21 +5,32 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpFilter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Component
 public class TransactionLoggingFilter extends HttpFilter {
 
-    private static final String TRANSACTION_ID = "transactionId";
+    public static final String TRANSACTION_ID = "transactionId";
+
+    private final long slowRequestThresholdMs;
+
+    public TransactionLoggingFilter(@Value("${gymcrm.slow-request.threshold-ms:1000}") long slowRequestThresholdMs) {
+        this.slowRequestThresholdMs = slowRequestThresholdMs;
+    }
 
     @Override
     protected void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws IOException, ServletException {
 
+        long start = System.nanoTime();
         try {
             String transactionId = request.getHeader(TRANSACTION_ID);
             if (transactionId == null || transactionId.isBlank()) {
@@ -32,6 +43,11 @@ public class TransactionLoggingFilter extends HttpFilter {
 
             chain.doFilter(request, response);
         } finally {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (elapsedMs >= slowRequestThresholdMs) {
+                log.warn("Slow request {} {} took {} ms (status {})",
+                        request.getMethod(), request.getRequestURI(), elapsedMs, response.getStatus());
+            }
             MDC.remove(TRANSACTION_ID);
         }
     }
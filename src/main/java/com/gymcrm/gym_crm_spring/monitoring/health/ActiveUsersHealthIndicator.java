@@ -14,9 +14,7 @@ public class ActiveUsersHealthIndicator implements HealthIndicator {
 
     @Override
     public Health health() {
-        long activeUsers = userService.findAll().stream()
-                .filter(u -> Boolean.TRUE.equals(u.getActive()))
-                .count();
+        long activeUsers = userService.countActive();
 
         if (activeUsers > 0) {
             return Health.up().withDetail("activeUsers", activeUsers).build();
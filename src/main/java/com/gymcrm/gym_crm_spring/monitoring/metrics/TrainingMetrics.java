@@ -20,14 +20,11 @@ public class TrainingMetrics implements ApplicationListener<ApplicationReadyEven
     @Override
     public void onApplicationEvent(ApplicationReadyEvent event) {
 
-        Gauge.builder("gymcrm.trainings.total", () -> safeGet(() -> trainingService.findAll().size()))
+        Gauge.builder("gymcrm.trainings.total", () -> safeGet(trainingService::count))
                 .description("Total number of trainings in the system")
                 .register(meterRegistry);
 
-        Gauge.builder("gymcrm.trainings.today", () -> safeGet(() ->
-                        trainingService.findAll().stream()
-                                .filter(t -> LocalDate.now().equals(t.getTrainingDate()))
-                                .count()))
+        Gauge.builder("gymcrm.trainings.today", () -> safeGet(() -> trainingService.countByTrainingDate(LocalDate.now())))
                 .description("Number of trainings created today")
                 .register(meterRegistry);
     }
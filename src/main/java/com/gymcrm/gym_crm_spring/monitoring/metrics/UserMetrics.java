@@ -18,14 +18,11 @@ public class UserMetrics implements ApplicationListener<ApplicationReadyEvent> {
     @Override
     public void onApplicationEvent(ApplicationReadyEvent event) {
 
-        Gauge.builder("gymcrm.users.total", () -> safeGet(() -> userService.findAll().size()))
+        Gauge.builder("gymcrm.users.total", () -> safeGet(userService::count))
                 .description("Total number of registered users")
                 .register(meterRegistry);
 
-        Gauge.builder("gymcrm.users.active", () -> safeGet(() ->
-                        userService.findAll().stream()
-                                .filter(u -> Boolean.TRUE.equals(u.getActive()))
-                                .count()))
+        Gauge.builder("gymcrm.users.active", () -> safeGet(userService::countActive))
                 .description("Number of active users")
                 .register(meterRegistry);
     }
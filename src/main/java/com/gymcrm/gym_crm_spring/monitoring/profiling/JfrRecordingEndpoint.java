@@ -0,0 +1,176 @@
+package com.gymcrm.gym_crm_spring.monitoring.profiling;
+
+import com.gymcrm.gym_crm_spring.security.AdminAccessVerifier;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * On-demand Java Flight Recorder recordings, restricted to admin tokens.
+ * <ul>
+ *     <li>{@code POST /actuator/jfr} {@code {"profile": "profile", "durationSeconds": 60}} starts a recording</li>
+ *     <li>{@code DELETE /actuator/jfr} stops it early</li>
+ *     <li>{@code GET /actuator/jfr} returns the state and, once stopped, a summary</li>
+ *     <li>{@code GET /actuator/jfr/{recording}} streams the {@code .jfr} file</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "jfr")
+public class JfrRecordingEndpoint implements DisposableBean {
+
+    private static final String DEFAULT_PROFILE = "profile";
+    private static final int SUMMARY_LIMIT = 20;
+
+    private final AdminAccessVerifier adminAccessVerifier;
+    private final long defaultDurationSeconds;
+    private final long maxDurationSeconds;
+
+    private Recording recording;
+    private String profile;
+    private Path file;
+    private JfrSummary summary;
+
+    public JfrRecordingEndpoint(AdminAccessVerifier adminAccessVerifier,
+                                @Value("${gymcrm.profiling.jfr.default-duration-seconds:60}") long defaultDurationSeconds,
+                                @Value("${gymcrm.profiling.jfr.max-duration-seconds:600}") long maxDurationSeconds) {
+        this.adminAccessVerifier = adminAccessVerifier;
+        this.defaultDurationSeconds = defaultDurationSeconds;
+        this.maxDurationSeconds = maxDurationSeconds;
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<JfrStatus> start(@Nullable String profile, @Nullable Long durationSeconds) {
+        var access = adminAccessVerifier.verify();
+        if (!access.isGranted()) return new WebEndpointResponse<>(access.httpStatus());
+
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(currentStatus(), WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        String requestedProfile = profile != null ? profile : DEFAULT_PROFILE;
+        long seconds = Math.min(durationSeconds != null ? durationSeconds : defaultDurationSeconds, maxDurationSeconds);
+        try {
+            Recording newRecording = new Recording(Configuration.getConfiguration(requestedProfile));
+            Path destination = Files.createTempFile("gymcrm-", ".jfr");
+            newRecording.setName("gymcrm-" + System.currentTimeMillis());
+            newRecording.setToDisk(true);
+            newRecording.setDuration(Duration.ofSeconds(seconds));
+            newRecording.setDestination(destination);
+
+            discardPrevious();
+            newRecording.start();
+            this.recording = newRecording;
+            this.profile = requestedProfile;
+            this.file = destination;
+            log.info("Started JFR recording {} with profile '{}' for {} s", newRecording.getName(), requestedProfile, seconds);
+            return new WebEndpointResponse<>(currentStatus());
+        } catch (ParseException | IOException e) {
+            log.warn("Could not start JFR recording with profile '{}': {}", requestedProfile, e.getMessage());
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+
+    @DeleteOperation
+    public synchronized WebEndpointResponse<JfrStatus> stop() {
+        var access = adminAccessVerifier.verify();
+        if (!access.isGranted()) return new WebEndpointResponse<>(access.httpStatus());
+
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("Stopped JFR recording {}", recording.getName());
+        }
+        return new WebEndpointResponse<>(currentStatus());
+    }
+
+    @ReadOperation
+    public synchronized WebEndpointResponse<JfrStatus> status() {
+        var access = adminAccessVerifier.verify();
+        if (!access.isGranted()) return new WebEndpointResponse<>(access.httpStatus());
+
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(currentStatus());
+    }
+
+    @ReadOperation
+    public synchronized WebEndpointResponse<Resource> download(@Selector String name) {
+        var access = adminAccessVerifier.verify();
+        if (!access.isGranted()) return new WebEndpointResponse<>(access.httpStatus());
+
+        if (recording == null || !recording.getName().equals(name) || !isFinished()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(file));
+    }
+
+    @Override
+    public synchronized void destroy() {
+        discardPrevious();
+    }
+
+    private JfrStatus currentStatus() {
+        return new JfrStatus(
+                recording.getName(),
+                recording.getState().name(),
+                profile,
+                recording.getStartTime(),
+                recording.getDuration() != null ? recording.getDuration().toSeconds() : null,
+                isFinished() ? summary() : null
+        );
+    }
+
+    private boolean isFinished() {
+        return recording.getState() == RecordingState.STOPPED && Files.exists(file);
+    }
+
+    private JfrSummary summary() {
+        if (summary == null) {
+            try {
+                summary = JfrSummarizer.summarize(recording.getName(), file, SUMMARY_LIMIT);
+            } catch (IOException e) {
+                log.warn("Could not summarize JFR recording {}: {}", recording.getName(), e.getMessage());
+            }
+        }
+        return summary;
+    }
+
+    private void discardPrevious() {
+        if (recording != null) {
+            recording.close();
+        }
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete JFR file {}: {}", file, e.getMessage());
+            }
+        }
+        recording = null;
+        file = null;
+        summary = null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.gymcrm.gym_crm_spring.monitoring.profiling;
+
+import java.time.Instant;
+
+public record JfrStatus(
+        String recording,
+        String state,
+        String profile,
+        Instant startTime,
+        Long durationSeconds,
+        JfrSummary summary
+) {}
@@ -0,0 +1,69 @@
+package com.gymcrm.gym_crm_spring.monitoring.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@UtilityClass
+public class JfrSummarizer {
+    private final String APP_PACKAGE = "com.gymcrm.gym_crm_spring.";
+    private final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+    private final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+
+    /**
+     * Attributes CPU samples and sampled allocation weight to the innermost
+     * application frame of each stack trace.
+     */
+    public JfrSummary summarize(String recordingName, Path file, int limit) throws IOException {
+        Map<String, Long> cpu = new HashMap<>();
+        Map<String, Long> allocations = new HashMap<>();
+        long executionSamples = 0;
+        long allocationSamples = 0;
+
+        try (RecordingFile recordingFile = new RecordingFile(file)) {
+            while (recordingFile.hasMoreEvents()) {
+                RecordedEvent event = recordingFile.readEvent();
+                String type = event.getEventType().getName();
+                if (EXECUTION_SAMPLE.equals(type)) {
+                    executionSamples++;
+                    String method = firstAppFrame(event.getStackTrace());
+                    if (method != null) cpu.merge(method, 1L, Long::sum);
+                } else if (ALLOCATION_SAMPLE.equals(type)) {
+                    allocationSamples++;
+                    String method = firstAppFrame(event.getStackTrace());
+                    if (method != null) allocations.merge(method, event.getLong("weight"), Long::sum);
+                }
+            }
+        }
+
+        return new JfrSummary(recordingName, executionSamples, allocationSamples, top(cpu, limit), top(allocations, limit));
+    }
+
+    private String firstAppFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) return null;
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame()) continue;
+            String typeName = frame.getMethod().getType().getName();
+            if (typeName.startsWith(APP_PACKAGE) && !typeName.contains("$$")) {
+                return typeName + "." + frame.getMethod().getName();
+            }
+        }
+        return null;
+    }
+
+    private List<JfrSummary.MethodCount> top(Map<String, Long> counts, int limit) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(limit)
+                .map(entry -> new JfrSummary.MethodCount(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+}
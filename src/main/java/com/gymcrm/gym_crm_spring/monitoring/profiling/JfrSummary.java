@@ -0,0 +1,13 @@
+package com.gymcrm.gym_crm_spring.monitoring.profiling;
+
+import java.util.List;
+
+public record JfrSummary(
+        String recording,
+        long executionSamples,
+        long allocationSamples,
+        List<MethodCount> hottestMethods,
+        List<MethodCount> topAllocatingMethods
+) {
+    public record MethodCount(String method, long value) {}
+}
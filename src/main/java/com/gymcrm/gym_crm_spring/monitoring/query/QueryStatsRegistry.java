@@ -0,0 +1,129 @@
+package com.gymcrm.gym_crm_spring.monitoring.query;
+
+import com.gymcrm.gym_crm_spring.logging.TransactionLoggingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Component
+public class QueryStatsRegistry {
+
+    static final String OVERFLOW_FINGERPRINT = "<other>";
+
+    private final Map<String, QueryStats> statsByFingerprint = new ConcurrentHashMap<>();
+    private final Map<String, String> fingerprintBySql = new ConcurrentHashMap<>();
+    private final long thresholdNanos;
+    private final int maxFingerprints;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private volatile Timer connectionHoldTimer;
+
+    public QueryStatsRegistry(@Value("${gymcrm.slow-query.threshold-ms:200}") long thresholdMs,
+                              @Value("${gymcrm.slow-query.max-fingerprints:1000}") int maxFingerprints,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.maxFingerprints = maxFingerprints;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(String sql, long elapsedNanos) {
+        String fingerprint = fingerprint(sql);
+        QueryStats stats = statsByFingerprint.get(fingerprint);
+        if (stats == null) {
+            if (statsByFingerprint.size() >= maxFingerprints) {
+                fingerprint = OVERFLOW_FINGERPRINT;
+            }
+            stats = statsByFingerprint.computeIfAbsent(fingerprint, QueryStats::new);
+        }
+        stats.record(elapsedNanos);
+
+        if (elapsedNanos >= thresholdNanos) {
+            log.warn("Slow query took {} ms (transactionId={}): {}",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    MDC.get(TransactionLoggingFilter.TRANSACTION_ID),
+                    fingerprint);
+        }
+    }
+
+    /**
+     * Time between borrowing a physical connection and returning it. The registry is created
+     * while the data source is post-processed, so the timer is looked up on first use.
+     */
+    public void recordConnectionHold(long heldNanos) {
+        Timer timer = connectionHoldTimer;
+        if (timer == null) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) return;
+            timer = Timer.builder("gymcrm.datasource.connection.hold")
+                    .description("How long a physical database connection is held per checkout")
+                    .register(registry);
+            connectionHoldTimer = timer;
+        }
+        timer.record(heldNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public List<QueryStatsSnapshot> top(int limit) {
+        return statsByFingerprint.values().stream()
+                .map(QueryStats::snapshot)
+                .sorted(Comparator.comparingDouble(QueryStatsSnapshot::totalMs).reversed())
+                .limit(Math.max(limit, 0))
+                .toList();
+    }
+
+    public void reset() {
+        statsByFingerprint.clear();
+    }
+
+    private String fingerprint(String sql) {
+        String cached = fingerprintBySql.get(sql);
+        if (cached != null) return cached;
+        String fingerprint = SqlFingerprint.of(sql);
+        if (fingerprintBySql.size() < maxFingerprints) {
+            fingerprintBySql.putIfAbsent(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    private static final class QueryStats {
+        private final String fingerprint;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private QueryStats(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        private void record(long elapsedNanos) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            if (elapsedNanos > maxNanos.get()) {
+                maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+            }
+        }
+
+        private QueryStatsSnapshot snapshot() {
+            long n = count.sum();
+            double totalMs = totalNanos.sum() / 1_000_000.0;
+            return new QueryStatsSnapshot(
+                    fingerprint,
+                    n,
+                    totalMs,
+                    n == 0 ? 0 : totalMs / n,
+                    maxNanos.get() / 1_000_000.0
+            );
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.gymcrm.gym_crm_spring.monitoring.query;
+
+public record QueryStatsSnapshot(
+        String fingerprint,
+        long count,
+        double totalMs,
+        double meanMs,
+        double maxMs
+) {}
@@ -0,0 +1,135 @@
+package com.gymcrm.gym_crm_spring.monitoring.query;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Times every statement execution on connections handed out by the target
+ * data source, and how long each connection is held, and reports both to the
+ * {@link QueryStatsRegistry}.
+ */
+public class QueryTimingDataSource extends DelegatingDataSource {
+
+    private final QueryStatsRegistry registry;
+
+    public QueryTimingDataSource(DataSource targetDataSource, QueryStatsRegistry registry) {
+        super(targetDataSource);
+        this.registry = registry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                QueryTimingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static Object handleIdentity(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> null;
+        };
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+        private final long acquiredAt = System.nanoTime();
+        private boolean closed;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = handleIdentity(proxy, method, args);
+            if (identity != null) return identity;
+
+            if (method.getName().equals("close") && !closed) {
+                closed = true;
+                registry.recordConnectionHold(System.nanoTime() - acquiredAt);
+            }
+
+            Object result = invokeTarget(target, method, args);
+            String name = method.getName();
+            if (result instanceof Statement statement
+                    && (name.equals("prepareStatement") || name.equals("prepareCall") || name.equals("createStatement"))) {
+                String sql = name.equals("createStatement") ? null : (String) args[0];
+                return wrapStatement(statement, sql, (Connection) proxy);
+            }
+            return result;
+        }
+    }
+
+    private Statement wrapStatement(Statement statement, String sql, Connection connectionProxy) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return (Statement) Proxy.newProxyInstance(
+                QueryTimingDataSource.class.getClassLoader(),
+                new Class<?>[]{type},
+                new StatementHandler(statement, sql, connectionProxy));
+    }
+
+    private class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String sql;
+        private final Connection connectionProxy;
+
+        private StatementHandler(Statement target, String sql, Connection connectionProxy) {
+            this.target = target;
+            this.sql = sql;
+            this.connectionProxy = connectionProxy;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = handleIdentity(proxy, method, args);
+            if (identity != null) return identity;
+
+            String name = method.getName();
+            if (name.equals("getConnection")) return connectionProxy;
+            if (!name.startsWith("execute")) return invokeTarget(target, method, args);
+
+            String statementSql = sql != null ? sql
+                    : (args != null && args.length > 0 && args[0] instanceof String s ? s : null);
+            long start = System.nanoTime();
+            try {
+                return invokeTarget(target, method, args);
+            } finally {
+                if (statementSql != null) {
+                    registry.record(statementSql, System.nanoTime() - start);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.gymcrm.gym_crm_spring.monitoring.query;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+@Component
+public class QueryTimingDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+    private final ObjectProvider<QueryStatsRegistry> registry;
+
+    public QueryTimingDataSourcePostProcessor(ObjectProvider<QueryStatsRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof QueryTimingDataSource)) {
+            return new QueryTimingDataSource(dataSource, registry.getObject());
+        }
+        return bean;
+    }
+
+    /**
+     * Innermost wrapper: only time spent on the JDBC connection itself counts.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
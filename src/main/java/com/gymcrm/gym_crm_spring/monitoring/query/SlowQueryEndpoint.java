@@ -0,0 +1,44 @@
+package com.gymcrm.gym_crm_spring.monitoring.query;
+
+import com.gymcrm.gym_crm_spring.security.AdminAccessVerifier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Per-statement timings, restricted to admin tokens: the fingerprints reveal the schema and
+ * the reset wipes what others are measuring.
+ */
+@Component
+@WebEndpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final QueryStatsRegistry registry;
+    private final AdminAccessVerifier adminAccessVerifier;
+
+    @ReadOperation
+    public WebEndpointResponse<List<QueryStatsSnapshot>> topQueries(@Nullable Integer limit) {
+        var access = adminAccessVerifier.verify();
+        if (!access.isGranted()) return new WebEndpointResponse<>(access.httpStatus());
+
+        return new WebEndpointResponse<>(registry.top(limit != null ? limit : DEFAULT_LIMIT));
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Void> reset() {
+        var access = adminAccessVerifier.verify();
+        if (!access.isGranted()) return new WebEndpointResponse<>(access.httpStatus());
+
+        registry.reset();
+        return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NO_CONTENT);
+    }
+}
@@ -0,0 +1,27 @@
+package com.gymcrm.gym_crm_spring.monitoring.query;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+@UtilityClass
+public class SqlFingerprint {
+    private final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Normalizes a statement so that executions differing only in literal values or
+     * IN-list length share one fingerprint.
+     */
+    public String of(String sql) {
+        if (sql == null || sql.isBlank()) return "";
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMERIC_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?)");
+        return normalized.trim().toLowerCase(Locale.ROOT);
+    }
+}
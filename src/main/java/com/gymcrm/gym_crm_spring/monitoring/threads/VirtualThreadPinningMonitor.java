@@ -0,0 +1,87 @@
+package com.gymcrm.gym_crm_spring.monitoring.threads;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Streams {@code jdk.VirtualThreadPinned} JFR events (Java 21+) and reports each pinning of a
+ * carrier thread longer than the threshold: a WARN with the top stack frames and the
+ * {@code gymcrm.virtual-threads.pinned} counter, tagged with the first application frame
+ * (or the first frame when the pin happens entirely inside a dependency).
+ * On older runtimes the event does not exist and the stream stays idle.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "gymcrm.virtual-threads.pinning-monitor.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.gymcrm.";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${gymcrm.virtual-threads.pinning-monitor.threshold-ms:20}") long thresholdMs) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Watching for virtual thread pinning longer than {} ms", threshold.toMillis());
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        Counter.builder("gymcrm.virtual-threads.pinned")
+                .description("Virtual threads pinned to their carrier longer than the threshold")
+                .tag("site", site(frames))
+                .register(meterRegistry)
+                .increment();
+        log.warn("Virtual thread pinned for {} ms on {}:\n{}",
+                event.getDuration().toMillis(),
+                event.getThread() == null ? "?" : event.getThread().getJavaName(),
+                frames.stream().limit(LOGGED_FRAMES).map(VirtualThreadPinningMonitor::describe)
+                        .collect(Collectors.joining("\n\tat ", "\tat ", "")));
+    }
+
+    private static String site(List<RecordedFrame> frames) {
+        return frames.stream()
+                .filter(frame -> frame.getMethod().getType().getName().startsWith(APP_PACKAGE))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(VirtualThreadPinningMonitor::describe)
+                .orElse("unknown");
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+}
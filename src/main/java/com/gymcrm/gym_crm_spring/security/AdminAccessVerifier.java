@@ -0,0 +1,72 @@
+package com.gymcrm.gym_crm_spring.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Decides whether the current request carries the token of one of the configured
+ * admin users ({@code gymcrm.security.admin-usernames}). Used by operational actuator
+ * endpoints, which are not covered by {@link AuthenticationAspect}'s exception handling.
+ */
+@Component
+public class AdminAccessVerifier {
+
+    private final TokenStore tokenStore;
+    private final Set<String> adminUsernames;
+
+    public AdminAccessVerifier(TokenStore tokenStore,
+                               @Value("${gymcrm.security.admin-usernames:}") Set<String> adminUsernames) {
+        this.tokenStore = tokenStore;
+        this.adminUsernames = adminUsernames.stream()
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(name -> name.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public Decision verify() {
+        var attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return Decision.UNAUTHENTICATED;
+        }
+
+        String token = attributes.getRequest().getHeader("X-Auth-Token");
+        if (token == null || token.isBlank()) {
+            return Decision.UNAUTHENTICATED;
+        }
+
+        Optional<String> username = tokenStore.validateToken(token);
+        if (username.isEmpty()) {
+            return Decision.UNAUTHENTICATED;
+        }
+        return adminUsernames.contains(username.get().toLowerCase(Locale.ROOT)) ? Decision.GRANTED : Decision.FORBIDDEN;
+    }
+
+    public enum Decision {
+        GRANTED(HttpStatus.OK),
+        UNAUTHENTICATED(HttpStatus.UNAUTHORIZED),
+        FORBIDDEN(HttpStatus.FORBIDDEN);
+
+        private final HttpStatus status;
+
+        Decision(HttpStatus status) {
+            this.status = status;
+        }
+
+        public boolean isGranted() {
+            return this == GRANTED;
+        }
+
+        public int httpStatus() {
+            return status.value();
+        }
+    }
+}
@@ -1,18 +1,23 @@
 package com.gymcrm.gym_crm_spring.service;
 
 import com.gymcrm.gym_crm_spring.dao.AbstractDaoJpa;
+import com.gymcrm.gym_crm_spring.domain.BaseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
-public abstract class AbstractService<T> {
+public abstract class AbstractService<T extends BaseEntity> {
 
-    protected final AbstractDaoJpa<T> dao;
+    protected final AbstractDaoJpa<T, UUID> dao;
 
-    protected AbstractService(AbstractDaoJpa<T> dao) {
+    protected AbstractService(AbstractDaoJpa<T, UUID> dao) {
         this.dao = dao;
     }
 
@@ -21,15 +26,60 @@ public abstract class AbstractService<T> {
         return dao.save(e);
     }
 
+    /**
+     * Runs in a transaction of its own: {@link AbstractDaoJpa#saveAll} clears the persistence
+     * context, which would detach a calling transaction's entities. The rows are committed
+     * when this returns, whatever the caller's transaction does later, and the returned
+     * entities are detached.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<T> saveAll(Collection<? extends T> entities) {
+        return dao.saveAll(entities);
+    }
+
     @Transactional(readOnly = true)
     public Optional<T> findById(UUID id) {
         return dao.findById(id);
     }
 
+    @Transactional(readOnly = true)
+    public boolean existsById(UUID id) {
+        return dao.existsById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public long count() {
+        return dao.count();
+    }
+
     @Transactional(readOnly = true)
     public List<T> findAll() {
         return dao.findAll();
     }
+
+    @Transactional(readOnly = true)
+    public List<T> findPage(int offset, int limit) {
+        return dao.findPage(offset, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<T> findPageAfter(UUID afterId, int limit) {
+        return dao.findPageAfter(afterId, limit);
+    }
+
+    /**
+     * Visits every entity without holding the table in memory; see {@link AbstractDaoJpa#streamAll}.
+     * Runs in a read-only transaction of its own, like {@link #saveAll}: the stream clears the
+     * persistence context, which would otherwise detach the caller's entities and drop their
+     * unflushed changes. The visited entities are detached and only see committed rows.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public void forEach(Consumer<? super T> action) {
+        try (Stream<T> all = dao.streamAll()) {
+            all.forEach(action);
+        }
+    }
+
     @Transactional
     public void delete(UUID id) {
         dao.delete(id);
@@ -3,6 +3,7 @@ package com.gymcrm.gym_crm_spring.service;
 import com.gymcrm.gym_crm_spring.dao.TraineeDao;
 import com.gymcrm.gym_crm_spring.dao.TrainerDao;
 import com.gymcrm.gym_crm_spring.domain.Trainee;
+import com.gymcrm.gym_crm_spring.domain.Trainer;
 import com.gymcrm.gym_crm_spring.dto.TraineeProfileResponse;
 import com.gymcrm.gym_crm_spring.dto.TraineeProfileUpdateRequest;
 import com.gymcrm.gym_crm_spring.dto.TraineeProfileUpdateResponse;
@@ -12,6 +13,7 @@ import com.gymcrm.gym_crm_spring.dto.TraineeTrainingResponse;
 import com.gymcrm.gym_crm_spring.dto.TrainerShortResponse;
 import com.gymcrm.gym_crm_spring.exception.TraineeNotFoundException;
 import com.gymcrm.gym_crm_spring.exception.TrainerNotFoundException;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -40,7 +42,7 @@ public class TraineeService extends AbstractService<Trainee> {
 
     @Transactional(readOnly = true)
     public boolean existsByFirstAndLastName(String firstName, String lastName) {
-        return dao.findByFirstAndLastName(firstName, lastName).isPresent();
+        return dao.existsByFirstAndLastName(firstName, lastName);
     }
 
     @Transactional(readOnly = true)
@@ -110,7 +112,9 @@ public class TraineeService extends AbstractService<Trainee> {
     public void deleteByUsername(String username) {
         var trainee = dao.findByUsername(username)
                 .orElseThrow(() -> new TraineeNotFoundException(username));
-        delete(trainee.getId());
+        // the trainee owns trainer_trainee, so removing it deletes its rows by trainee id
+        trainee.getAssignedTrainers().forEach(trainer -> unmirror(trainer, trainee));
+        dao.delete(trainee);
     }
 
     @Transactional
@@ -123,8 +127,14 @@ public class TraineeService extends AbstractService<Trainee> {
                         .orElseThrow(() -> new TrainerNotFoundException(username)))
                 .collect(Collectors.toSet());
 
-        trainee.setAssignedTrainers(trainers);
-        dao.save(trainee);
+        // Trainee.assignedTrainers owns the join table: only the changed rows are written
+        var assigned = trainee.getAssignedTrainers();
+        assigned.stream()
+                .filter(trainer -> !trainers.contains(trainer))
+                .forEach(trainer -> unmirror(trainer, trainee));
+        trainers.forEach(trainer -> mirror(trainer, trainee));
+        assigned.retainAll(trainers);
+        assigned.addAll(trainers);
 
         var trainersResponse = trainers.stream()
                 .map(trainer -> new TrainerShortResponse(
@@ -173,7 +183,19 @@ public class TraineeService extends AbstractService<Trainee> {
         dao.save(trainee);
     }
 
+    /**
+     * Keeps the trainer's inverse collection in step, but only if it is already loaded:
+     * initializing it would read every trainee of the trainer.
+     */
+    private static void mirror(Trainer trainer, Trainee trainee) {
+        if (Hibernate.isInitialized(trainer.getAssignedTrainees())) {
+            trainer.getAssignedTrainees().add(trainee);
+        }
+    }
 
+    private static void unmirror(Trainer trainer, Trainee trainee) {
+        if (Hibernate.isInitialized(trainer.getAssignedTrainees())) {
+            trainer.getAssignedTrainees().remove(trainee);
+        }
+    }
 }
-
-
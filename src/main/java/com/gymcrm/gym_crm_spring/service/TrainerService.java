@@ -8,11 +8,13 @@ import com.gymcrm.gym_crm_spring.dto.TrainerProfileResponse;
 import com.gymcrm.gym_crm_spring.dto.TrainerProfileUpdateRequest;
 import com.gymcrm.gym_crm_spring.dto.TrainerProfileUpdateResponse;
 import com.gymcrm.gym_crm_spring.dto.TrainerShortResponse;
+import com.gymcrm.gym_crm_spring.dto.TrainerTrainingsListResponse;
 import com.gymcrm.gym_crm_spring.exception.TraineeNotFoundException;
 import com.gymcrm.gym_crm_spring.exception.TrainerNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,11 +24,13 @@ import java.util.stream.Collectors;
 public class TrainerService extends AbstractService<Trainer> {
     private final TrainerDao dao;
     private final TraineeService traineeService;
+    private final TrainingService trainingService;
 
-    public TrainerService(TrainerDao dao, TraineeService traineeService) {
+    public TrainerService(TrainerDao dao, TraineeService traineeService, TrainingService trainingService) {
         super(dao);
         this.dao = dao;
         this.traineeService = traineeService;
+        this.trainingService = trainingService;
     }
 
     @Transactional(readOnly = true)
@@ -39,9 +43,14 @@ public class TrainerService extends AbstractService<Trainer> {
         return dao.findNotAssignedToTrainee(traineeId);
     }
 
+    @Transactional(readOnly = true)
+    public List<String> findUsernamesAssignedTo(String traineeUsername) {
+        return dao.findUsernamesAssignedTo(traineeUsername);
+    }
+
     @Transactional(readOnly = true)
     public boolean existsByFirstAndLastName(String firstName, String lastName) {
-        return dao.findByFirstAndLastName(firstName, lastName).isPresent();
+        return dao.existsByFirstAndLastName(firstName, lastName);
     }
 
     @Transactional(readOnly = true)
@@ -117,6 +126,28 @@ public class TrainerService extends AbstractService<Trainer> {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public TrainerTrainingsListResponse getTrainingsList(String username,
+                                                        LocalDate from,
+                                                        LocalDate to,
+                                                        String traineeName) {
+        dao.findByUsername(username)
+                .orElseThrow(() -> new TrainerNotFoundException(username));
+
+        var trainings = trainingService.findByCriteriaForTrainer(username, from, to, traineeName)
+                .stream()
+                .map(training -> new TrainerTrainingsListResponse.TrainerTrainingResponse(
+                        training.getTrainingName(),
+                        training.getTrainingDate(),
+                        training.getTrainingType().getTrainingTypeName(),
+                        training.getTrainingDuration(),
+                        training.getTrainee().getUser().getUsername()
+                ))
+                .toList();
+
+        return new TrainerTrainingsListResponse(trainings);
+    }
+
     @Transactional
     public void updateActivationStatus(String username, boolean isActive) {
         var trainer = dao.findByUsername(username)
@@ -34,6 +34,21 @@ public class TrainingService extends AbstractService<Training> {
         return dao.findByCriteriaForTrainer(trainerUsername, from, to, traineeName);
     }
 
+    @Transactional(readOnly = true)
+    public long countByTrainingDate(LocalDate date) {
+        return dao.countByTrainingDate(date);
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> findTrainerUsernamesForTrainee(String traineeUsername) {
+        return dao.findTrainerUsernamesForTrainee(traineeUsername);
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> findTraineeUsernamesForTrainer(String trainerUsername) {
+        return dao.findTraineeUsernamesForTrainer(trainerUsername);
+    }
+
     @Transactional
     public void saveTraining(Training training) {
         dao.save(training);
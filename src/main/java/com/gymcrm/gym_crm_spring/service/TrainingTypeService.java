@@ -2,6 +2,7 @@ package com.gymcrm.gym_crm_spring.service;
 
 import com.gymcrm.gym_crm_spring.dao.TrainingTypeDao;
 import com.gymcrm.gym_crm_spring.domain.TrainingType;
+import com.gymcrm.gym_crm_spring.dto.TrainingTypeResponse;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +27,13 @@ public class TrainingTypeService extends AbstractService<TrainingType> {
     public List<TrainingType> findAll() {
         return dao.findAll();
     }
+
+    @Transactional(readOnly = true)
+    public List<TrainingTypeResponse> getAllTrainingTypes() {
+        return dao.findAll().stream()
+                .map(tt -> new TrainingTypeResponse(tt.getId(), tt.getTrainingTypeName()))
+                .toList();
+    }
 }
 
 
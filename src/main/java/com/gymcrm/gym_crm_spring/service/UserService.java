@@ -3,20 +3,19 @@ package com.gymcrm.gym_crm_spring.service;
 import com.gymcrm.gym_crm_spring.dao.UserDao;
 import com.gymcrm.gym_crm_spring.domain.User;
 import com.gymcrm.gym_crm_spring.exception.InvalidCredentialsException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class UserService extends AbstractService<User> {
-    private final BCryptPasswordEncoder encoder;
     private final UserDao dao;
 
-    public UserService(BCryptPasswordEncoder encoder, UserDao dao) {
+    public UserService(UserDao dao) {
         super(dao);
-        this.encoder = encoder;
         this.dao = dao;
     }
 
@@ -25,17 +24,31 @@ public class UserService extends AbstractService<User> {
         return dao.findByUsername(username);
     }
 
-    @Transactional
-    public void changePassword(String username, String oldPassword, String newPassword) {
-        var user = dao.findByUsername(username)
-                .orElseThrow(InvalidCredentialsException::new);
+    @Transactional(readOnly = true)
+    public long countActive() {
+        return dao.countActive();
+    }
+
+    @Transactional(readOnly = true)
+    public Set<String> findUsernamesStartingWith(String prefix) {
+        return dao.findUsernamesStartingWith(prefix);
+    }
 
-        if (!encoder.matches(oldPassword, user.getPassword())) {
+    @Transactional(readOnly = true)
+    public void forEachUsername(Consumer<String> action) {
+        dao.forEachUsername(action);
+    }
+
+    /**
+     * Stores an already hashed password, provided the current hash is still {@code expectedHash}
+     * (i.e. nobody changed the password since the caller verified the old one). One conditional
+     * update, so two concurrent changes cannot both succeed.
+     */
+    @Transactional
+    public void replacePassword(String username, String expectedHash, String newHash) {
+        if (!dao.replacePassword(username, expectedHash, newHash)) {
             throw new InvalidCredentialsException();
         }
-
-        user.setPassword(encoder.encode(newPassword));
-        dao.save(user);
     }
 }
 
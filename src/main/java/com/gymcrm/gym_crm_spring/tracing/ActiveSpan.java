@@ -0,0 +1,68 @@
+package com.gymcrm.gym_crm_spring.tracing;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class ActiveSpan implements AutoCloseable {
+
+    private final Tracer tracer;
+    private final String traceId;
+    private final String spanId;
+    private final ActiveSpan parent;
+    private final String name;
+    private final SpanKind kind;
+    private final Instant startTime = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final Map<String, String> attributes = new LinkedHashMap<>();
+    private String error;
+    private boolean ended;
+
+    ActiveSpan(Tracer tracer, String traceId, String spanId, ActiveSpan parent, String name, SpanKind kind) {
+        this.tracer = tracer;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parent = parent;
+        this.name = name;
+        this.kind = kind;
+    }
+
+    public ActiveSpan attribute(String key, String value) {
+        if (value != null) attributes.put(key, value);
+        return this;
+    }
+
+    public void recordError(Throwable ex) {
+        this.error = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+    }
+
+    public String traceId() {
+        return traceId;
+    }
+
+    ActiveSpan parent() {
+        return parent;
+    }
+
+    @Override
+    public void close() {
+        if (ended) return;
+        ended = true;
+        tracer.end(this);
+    }
+
+    Span toSpan() {
+        return new Span(
+                traceId,
+                spanId,
+                parent != null ? parent.spanId : null,
+                name,
+                kind,
+                startTime,
+                (System.nanoTime() - startNanos) / 1_000,
+                Thread.currentThread().getName(),
+                error,
+                Map.copyOf(attributes)
+        );
+    }
+}
@@ -0,0 +1,63 @@
+package com.gymcrm.gym_crm_spring.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the most recent spans in a fixed-size ring buffer; older spans are overwritten.
+ */
+@Component
+@ConditionalOnProperty(name = {"gymcrm.tracing.enabled", "gymcrm.tracing.exporter.memory.enabled"}, havingValue = "true")
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final AtomicReferenceArray<Span> buffer;
+    private final AtomicLong written = new AtomicLong();
+
+    public InMemorySpanExporter(@Value("${gymcrm.tracing.exporter.memory.capacity:4096}") int capacity) {
+        this.buffer = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public void export(Span span) {
+        long index = written.getAndIncrement();
+        buffer.set((int) (index % buffer.length()), span);
+    }
+
+    public List<Span> recentSpans() {
+        long end = written.get();
+        long start = Math.max(0, end - buffer.length());
+        List<Span> spans = new ArrayList<>((int) (end - start));
+        for (long i = end - 1; i >= start; i--) {
+            Span span = buffer.get((int) (i % buffer.length()));
+            if (span != null) spans.add(span);
+        }
+        return spans;
+    }
+
+    /**
+     * Most recent traces first, each with its spans ordered by start time.
+     */
+    public Map<String, List<Span>> recentTraces(int limit) {
+        Map<String, List<Span>> traces = new LinkedHashMap<>();
+        for (Span span : recentSpans()) {
+            List<Span> spans = traces.get(span.traceId());
+            if (spans == null) {
+                if (traces.size() >= limit) continue;
+                spans = new ArrayList<>();
+                traces.put(span.traceId(), spans);
+            }
+            spans.add(span);
+        }
+        traces.values().forEach(spans -> spans.sort(Comparator.comparing(Span::startTime)));
+        return traces;
+    }
+}
@@ -0,0 +1,20 @@
+package com.gymcrm.gym_crm_spring.tracing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = {"gymcrm.tracing.enabled", "gymcrm.tracing.exporter.logging.enabled"}, havingValue = "true")
+public class LoggingSpanExporter implements SpanExporter {
+
+    @Override
+    public void export(Span span) {
+        if (!log.isDebugEnabled()) return;
+        log.debug("span trace={} id={} parent={} {} {} {} us{}{}",
+                span.traceId(), span.spanId(), span.parentSpanId(), span.kind(), span.name(), span.durationMicros(),
+                span.attributes().isEmpty() ? "" : " " + span.attributes(),
+                span.error() == null ? "" : " error=" + span.error());
+    }
+}
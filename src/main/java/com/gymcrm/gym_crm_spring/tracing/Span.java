@@ -0,0 +1,17 @@
+package com.gymcrm.gym_crm_spring.tracing;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record Span(
+        String traceId,
+        String spanId,
+        String parentSpanId,
+        String name,
+        SpanKind kind,
+        Instant startTime,
+        long durationMicros,
+        String thread,
+        String error,
+        Map<String, String> attributes
+) {}
@@ -0,0 +1,10 @@
+package com.gymcrm.gym_crm_spring.tracing;
+
+/**
+ * Receives every finished {@link Span}. Implementations are called on the thread that
+ * ended the span and must not block.
+ */
+public interface SpanExporter {
+
+    void export(Span span);
+}
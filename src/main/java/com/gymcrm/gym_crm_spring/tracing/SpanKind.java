@@ -0,0 +1,7 @@
+package com.gymcrm.gym_crm_spring.tracing;
+
+public enum SpanKind {
+    SERVER,
+    INTERNAL,
+    CLIENT
+}
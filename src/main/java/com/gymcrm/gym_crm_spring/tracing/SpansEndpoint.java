@@ -0,0 +1,46 @@
+package com.gymcrm.gym_crm_spring.tracing;
+
+import com.gymcrm.gym_crm_spring.security.AdminAccessVerifier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recent traces from the {@link InMemorySpanExporter}, restricted to admin tokens: span
+ * attributes carry request paths and usernames.
+ */
+@Component
+@WebEndpoint(id = "spans")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = {"gymcrm.tracing.enabled", "gymcrm.tracing.exporter.memory.enabled"}, havingValue = "true")
+public class SpansEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final InMemorySpanExporter exporter;
+    private final AdminAccessVerifier adminAccessVerifier;
+
+    @ReadOperation
+    public WebEndpointResponse<Map<String, List<Span>>> recentTraces(@Nullable Integer limit) {
+        var access = adminAccessVerifier.verify();
+        if (!access.isGranted()) return new WebEndpointResponse<>(access.httpStatus());
+
+        return new WebEndpointResponse<>(exporter.recentTraces(limit != null ? limit : DEFAULT_LIMIT));
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<List<Span>> trace(@Selector String traceId) {
+        var access = adminAccessVerifier.verify();
+        if (!access.isGranted()) return new WebEndpointResponse<>(access.httpStatus());
+
+        return new WebEndpointResponse<>(exporter.recentTraces(Integer.MAX_VALUE).getOrDefault(traceId, List.of()));
+    }
+}
@@ -0,0 +1,61 @@
+package com.gymcrm.gym_crm_spring.tracing;
+
+import com.gymcrm.gym_crm_spring.logging.TransactionLoggingFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Minimal in-process tracer. Spans nest per thread; the trace id is the request's
+ * {@code transactionId} from the MDC so spans line up with log lines.
+ */
+@Slf4j
+@Component
+public class Tracer {
+
+    private final ThreadLocal<ActiveSpan> current = new ThreadLocal<>();
+    private final List<SpanExporter> exporters;
+
+    public Tracer(ObjectProvider<SpanExporter> exporters) {
+        this.exporters = exporters.orderedStream().toList();
+    }
+
+    public ActiveSpan start(String name, SpanKind kind) {
+        ActiveSpan parent = current.get();
+        String traceId = parent != null ? parent.traceId() : resolveTraceId();
+        ActiveSpan span = new ActiveSpan(this, traceId, newSpanId(), parent, name, kind);
+        current.set(span);
+        return span;
+    }
+
+    void end(ActiveSpan span) {
+        if (span.parent() != null) {
+            current.set(span.parent());
+        } else {
+            current.remove();
+        }
+
+        Span finished = span.toSpan();
+        for (SpanExporter exporter : exporters) {
+            try {
+                exporter.export(finished);
+            } catch (RuntimeException e) {
+                log.warn("Span exporter {} failed: {}", exporter.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private static String resolveTraceId() {
+        String transactionId = MDC.get(TransactionLoggingFilter.TRANSACTION_ID);
+        return transactionId != null ? transactionId : UUID.randomUUID().toString();
+    }
+
+    private static String newSpanId() {
+        return String.format("%016x", ThreadLocalRandom.current().nextLong());
+    }
+}
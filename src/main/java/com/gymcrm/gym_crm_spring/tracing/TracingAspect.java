@@ -0,0 +1,73 @@
+package com.gymcrm.gym_crm_spring.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "gymcrm.tracing.enabled", havingValue = "true")
+public class TracingAspect {
+
+    private final Tracer tracer;
+
+    @Around("within(com.gymcrm.gym_crm_spring.controller..*) && execution(public * *(..))")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        try (ActiveSpan span = tracer.start(spanName(joinPoint), SpanKind.SERVER)) {
+            if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+                span.attribute("http.method", attributes.getRequest().getMethod())
+                        .attribute("http.path", attributes.getRequest().getRequestURI());
+            }
+            return proceed(joinPoint, span);
+        }
+    }
+
+    @Around("execution(public * com.gymcrm.gym_crm_spring.facade..*(..))")
+    public Object traceFacade(ProceedingJoinPoint joinPoint) throws Throwable {
+        try (ActiveSpan span = tracer.start(spanName(joinPoint), SpanKind.INTERNAL)) {
+            return proceed(joinPoint, span);
+        }
+    }
+
+    @Around("execution(public * com.gymcrm.gym_crm_spring.dao..*(..))")
+    public Object traceDao(ProceedingJoinPoint joinPoint) throws Throwable {
+        try (ActiveSpan span = tracer.start(spanName(joinPoint), SpanKind.CLIENT)) {
+            span.attribute("db.operation", joinPoint.getSignature().getName());
+            return proceed(joinPoint, span);
+        }
+    }
+
+    @Around("execution(* org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder.encode(..))"
+            + " || execution(* org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder.matches(..))")
+    public Object traceBCrypt(ProceedingJoinPoint joinPoint) throws Throwable {
+        try (ActiveSpan span = tracer.start("BCrypt." + joinPoint.getSignature().getName(), SpanKind.INTERNAL)) {
+            return proceed(joinPoint, span);
+        }
+    }
+
+    private static Object proceed(ProceedingJoinPoint joinPoint, ActiveSpan span) throws Throwable {
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            span.recordError(ex);
+            throw ex;
+        }
+    }
+
+    private static String spanName(ProceedingJoinPoint joinPoint) {
+        Object target = joinPoint.getTarget();
+        String type = target != null
+                ? target.getClass().getSimpleName()
+                : joinPoint.getSignature().getDeclaringType().getSimpleName();
+        return type + "." + joinPoint.getSignature().getName();
+    }
+}
@@ -8,6 +8,7 @@ import java.security.SecureRandom;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Predicate;
 
 @UtilityClass
 public class UserUtils {
@@ -16,21 +17,33 @@ public class UserUtils {
     private final BCryptPasswordEncoder ENCODER = new BCryptPasswordEncoder();
 
     public String generateUsername(String firstName, String lastName, List<? extends User> existingUsers) {
-        String f = firstName == null ? "" : firstName.trim().toLowerCase();
-        String l = lastName == null ? "" : lastName.trim().toLowerCase();
-        String base = f + "." + l;
         Set<String> existing = new HashSet<>();
         if (existingUsers != null) {
             for (User u : existingUsers) {
                 if (u != null && u.getUsername() != null) existing.add(u.getUsername().toLowerCase());
             }
         }
-        if (!existing.contains(base)) return base;
+        return generateUsername(firstName, lastName, existing::contains);
+    }
+
+    /**
+     * {@code first.last}, or the first free {@code first.lastN}; {@code taken} receives
+     * lowercased candidates.
+     */
+    public String generateUsername(String firstName, String lastName, Predicate<String> taken) {
+        String base = usernameBase(firstName, lastName);
+        if (!taken.test(base)) return base;
         int i = 1;
-        while (existing.contains(base + i)) i++;
+        while (taken.test(base + i)) i++;
         return base + i;
     }
 
+    public String usernameBase(String firstName, String lastName) {
+        String f = firstName == null ? "" : firstName.trim().toLowerCase();
+        String l = lastName == null ? "" : lastName.trim().toLowerCase();
+        return f + "." + l;
+    }
+
     public String generatePassword(int length) {
         if (length <= 0) throw new IllegalArgumentException("Password length must be >0");
         StringBuilder sb = new StringBuilder(length);
@@ -0,0 +1,22 @@
+-- CACHE_INVALIDATION: outbox tailed by every node to evict its local caches
+CREATE TABLE cache_invalidation (
+                                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                                    resource_type VARCHAR(32) NOT NULL,
+                                    username VARCHAR(100),
+                                    origin VARCHAR(64) NOT NULL,
+                                    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_cache_invalidation_created_at ON cache_invalidation(created_at);
+
+-- wake listening nodes once per writing statement; delivered only when the transaction commits
+CREATE FUNCTION notify_cache_invalidation() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('cache_invalidation', '');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_cache_invalidation_notify
+    AFTER INSERT ON cache_invalidation
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_cache_invalidation();
@@ -0,0 +1,19 @@
+-- UUID version 7 (RFC 9562): millisecond timestamp first, so new keys append to the primary key B-trees
+-- instead of landing on random pages. The application assigns ids itself (UuidV7); these defaults cover
+-- rows inserted by scripts and tools.
+CREATE FUNCTION uuid_generate_v7() RETURNS uuid AS $$
+DECLARE
+    uuid_bytes bytea;
+BEGIN
+    uuid_bytes = substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                     || gen_random_bytes(10);
+    -- version 0111 in the high nibble of byte 6, variant 10 in the top bits of byte 8
+    uuid_bytes = set_byte(uuid_bytes, 6, (b'0111' || get_byte(uuid_bytes, 6)::bit(4))::bit(8)::int);
+    uuid_bytes = set_byte(uuid_bytes, 8, (b'10' || get_byte(uuid_bytes, 8)::bit(6))::bit(8)::int);
+    RETURN encode(uuid_bytes, 'hex')::uuid;
+END;
+$$ LANGUAGE plpgsql VOLATILE;
+
+ALTER TABLE users ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE training_type ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE training ALTER COLUMN id SET DEFAULT uuid_generate_v7();
@@ -0,0 +1,42 @@
+package com.gymcrm.gym_crm_spring.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    private static final int USERS = 50_000;
+
+    @Test
+    @DisplayName("Every added username is reported as possibly present")
+    void noFalseNegatives() {
+        BloomFilter filter = new BloomFilter(USERS, 0.01);
+        for (int i = 0; i < USERS; i++) {
+            filter.put("user." + i);
+        }
+
+        for (int i = 0; i < USERS; i++) {
+            assertThat(filter.mightContain("user." + i)).as("user.%d", i).isTrue();
+        }
+        assertThat(filter.isSaturated()).isFalse();
+    }
+
+    @Test
+    @DisplayName("False-positive rate stays near the configured rate at capacity")
+    void falsePositiveRateAtCapacity() {
+        BloomFilter filter = new BloomFilter(USERS, 0.01);
+        for (int i = 0; i < USERS; i++) {
+            filter.put("user." + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < USERS; i++) {
+            if (filter.mightContain("stranger." + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat((double) falsePositives / USERS).isLessThan(0.02);
+    }
+}
@@ -0,0 +1,105 @@
+package com.gymcrm.gym_crm_spring.cache;
+
+import com.gymcrm.gym_crm_spring.GymCrmSpringApplication;
+import com.gymcrm.gym_crm_spring.dto.TraineeProfileUpdateRequest;
+import com.gymcrm.gym_crm_spring.dto.TraineeRegistrationRequest;
+import com.gymcrm.gym_crm_spring.facade.GymFacade;
+import com.gymcrm.gym_crm_spring.service.TraineeService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Two application contexts ("nodes") sharing one embedded database: a write on one node
+ * must evict what the other node has cached.
+ */
+class CrossNodeInvalidationIntegrationTest {
+
+    private static final String SHARED_DB = "jdbc:h2:mem:cache_invalidation_bus;DB_CLOSE_DELAY=-1";
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode("create");
+        nodeB = startNode("none");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    @Test
+    @DisplayName("A profile update on node A evicts node B's cached profile and moves its ETag")
+    void updateOnOneNodeInvalidatesTheOther() {
+        GymFacade facadeA = nodeA.getBean(GymFacade.class);
+        GymFacade facadeB = nodeB.getBean(GymFacade.class);
+
+        String username = facadeA.registerTrainee(new TraineeRegistrationRequest("Bus", "Rider",
+                Optional.of(LocalDate.of(1990, 1, 1)), Optional.of("first street"))).username();
+        try {
+            assertThat(facadeB.getTraineeProfile(username).address()).isEqualTo("first street");
+            String etagBefore = facadeB.getTraineeProfileVersion(username);
+
+            facadeA.updateTraineeProfile(new TraineeProfileUpdateRequest(username, "Bus", "Rider",
+                    Optional.of(LocalDate.of(1990, 1, 1)), Optional.of("second street"), true));
+
+            await().atMost(Duration.ofSeconds(10)).pollInterval(Duration.ofMillis(100)).untilAsserted(() -> {
+                assertThat(facadeB.getTraineeProfileVersion(username)).isNotEqualTo(etagBefore);
+                assertThat(facadeB.getTraineeProfile(username).address()).isEqualTo("second street");
+            });
+        } finally {
+            nodeA.getBean(TraineeService.class).deleteByUsername(username);
+        }
+    }
+
+    @Test
+    @DisplayName("A user registered on node A reaches node B's username index and can log in there")
+    void registrationOnOneNodeReachesTheOthersUsernameIndex() {
+        GymFacade facadeA = nodeA.getBean(GymFacade.class);
+        GymFacade facadeB = nodeB.getBean(GymFacade.class);
+        UsernameIndex indexB = nodeB.getBean(UsernameIndex.class);
+        await().atMost(Duration.ofSeconds(10)).until(() -> !indexB.mightExist("nobody.registered"));
+
+        var registration = facadeA.registerTrainee(new TraineeRegistrationRequest("Index", "Crosser",
+                Optional.empty(), Optional.empty()));
+        try {
+            await().atMost(Duration.ofSeconds(10)).pollInterval(Duration.ofMillis(100))
+                    .until(() -> indexB.mightExist(registration.username()));
+            facadeB.login(registration.username(), registration.password());
+        } finally {
+            nodeA.getBean(TraineeService.class).deleteByUsername(registration.username());
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode(String ddlAuto) {
+        return new SpringApplicationBuilder(GymCrmSpringApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                // command-line arguments, so they win over application-test.properties
+                .run("--spring.datasource.url=" + SHARED_DB,
+                        "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        "--gymcrm.cache.invalidation.enabled=true",
+                        "--gymcrm.username-index.enabled=true",
+                        "--gymcrm.cache.invalidation.poll-interval=100ms",
+                        "--gymcrm.cache.invalidation.gap-timeout=1s");
+    }
+}
@@ -0,0 +1,139 @@
+package com.gymcrm.gym_crm_spring.cache;
+
+import com.gymcrm.gym_crm_spring.dto.TraineeActivationRequest;
+import com.gymcrm.gym_crm_spring.dto.TraineeProfileUpdateRequest;
+import com.gymcrm.gym_crm_spring.dto.TraineeRegistrationRequest;
+import com.gymcrm.gym_crm_spring.facade.GymFacade;
+import com.gymcrm.gym_crm_spring.service.TraineeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not {@code @Transactional}: the cache only fills and invalidates around committed
+ * transactions, which a rolled-back test transaction would never produce.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProfileCacheConsistencyIntegrationTest {
+
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int UPDATES_PER_WRITER = 50;
+
+    @Autowired
+    private GymFacade gymFacade;
+
+    @Autowired
+    private TraineeService traineeService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<String> usernames = new ArrayList<>();
+
+    @BeforeEach
+    void registerTrainees() {
+        for (int i = 0; i < WRITERS; i++) {
+            usernames.add(gymFacade.registerTrainee(
+                    new TraineeRegistrationRequest("Cache", "Writer" + i, Optional.empty(), Optional.of("start"))).username());
+        }
+    }
+
+    @AfterEach
+    void deleteTrainees() {
+        usernames.forEach(traineeService::deleteByUsername);
+    }
+
+    @Test
+    @DisplayName("Repeated reads are cache hits until a write commits, then the write is visible")
+    void readsHitUntilWriteCommits() {
+        String username = usernames.get(0);
+        double hitsBefore = hits();
+
+        gymFacade.getTraineeProfile(username);
+        gymFacade.getTraineeProfile(username.toUpperCase());
+        assertThat(hits() - hitsBefore).isGreaterThanOrEqualTo(1);
+
+        gymFacade.activateTrainee(new TraineeActivationRequest(username, false));
+        assertThat(gymFacade.getTraineeProfile(username).isActive()).isFalse();
+
+        update(username, "moved");
+        assertThat(gymFacade.getTraineeProfile(username).address()).isEqualTo("moved");
+    }
+
+    @Test
+    @DisplayName("Concurrent readers never make a writer miss its own committed update")
+    void concurrentReadsAndWritesStayConsistent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < READERS; r++) {
+                readers.add(executor.submit(() -> {
+                    while (writing.get()) {
+                        usernames.forEach(gymFacade::getTraineeProfile);
+                    }
+                    return null;
+                }));
+            }
+
+            List<Future<?>> writers = new ArrayList<>();
+            for (String username : usernames) {
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < UPDATES_PER_WRITER; i++) {
+                        String address = "street " + i;
+                        update(username, address);
+                        assertThat(gymFacade.getTraineeProfile(username).address())
+                                .as("read after own write of %s", username)
+                                .isEqualTo(address);
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            for (Future<?> reader : readers) {
+                reader.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            writing.set(false);
+            executor.shutdownNow();
+        }
+
+        for (String username : usernames) {
+            assertThat(gymFacade.getTraineeProfile(username)).isEqualTo(traineeService.getProfile(username));
+            assertThat(gymFacade.getTraineeProfile(username).address()).isEqualTo("street " + (UPDATES_PER_WRITER - 1));
+        }
+    }
+
+    private void update(String username, String address) {
+        var profile = traineeService.getProfile(username);
+        gymFacade.updateTraineeProfile(new TraineeProfileUpdateRequest(username, profile.firstName(), profile.lastName(),
+                Optional.ofNullable(profile.dateOfBirth()), Optional.of(address), profile.isActive()));
+    }
+
+    private double hits() {
+        var counter = meterRegistry.find("cache.gets").tags("cache", "trainee-profiles", "result", "hit").functionCounter();
+        return counter == null ? 0 : counter.count();
+    }
+}
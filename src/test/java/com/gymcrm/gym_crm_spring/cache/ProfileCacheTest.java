@@ -0,0 +1,50 @@
+package com.gymcrm.gym_crm_spring.cache;
+
+import com.gymcrm.gym_crm_spring.datasource.ReadYourWritesTracker;
+import com.gymcrm.gym_crm_spring.dto.TraineeProfileResponse;
+import com.gymcrm.gym_crm_spring.security.TokenStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProfileCacheTest {
+
+    private final ResourceVersions versions = new ResourceVersions(1_000);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ProfileCache cache = new ProfileCache(versions, new ReadYourWritesTracker(new TokenStore(), 5_000),
+            meterRegistry, 100, Duration.ofMinutes(10));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("An entry found with a stale tag is reloaded and counted as a miss, not a hit")
+    void staleEntryIsAMiss() {
+        cache.traineeProfile("john.doe", this::load);
+        cache.traineeProfile("John.Doe", this::load);
+        assertThat(loads).hasValue(1);
+        assertThat(gets("hit")).isEqualTo(1);
+        assertThat(gets("miss")).isEqualTo(1);
+
+        // a commit whose invalidation has not reached this cache yet
+        versions.onProfileChanged(ProfileChangedEvent.of(ProfileType.TRAINEE, "john.doe"));
+        cache.traineeProfile("john.doe", this::load);
+
+        assertThat(loads).hasValue(2);
+        assertThat(gets("hit")).isEqualTo(1);
+        assertThat(gets("miss")).isEqualTo(2);
+    }
+
+    private TraineeProfileResponse load(String username) {
+        loads.incrementAndGet();
+        return new TraineeProfileResponse("John", "Doe", null, "load " + loads.get(), true, List.of());
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tags("cache", "trainee-profiles", "result", result).functionCounter().count();
+    }
+}
@@ -0,0 +1,157 @@
+package com.gymcrm.gym_crm_spring.cache;
+
+import com.gymcrm.gym_crm_spring.domain.TrainingType;
+import com.gymcrm.gym_crm_spring.dto.TraineeProfileUpdateRequest;
+import com.gymcrm.gym_crm_spring.dto.TraineeRegistrationRequest;
+import com.gymcrm.gym_crm_spring.dto.TraineeTrainerListUpdateRequest;
+import com.gymcrm.gym_crm_spring.dto.TrainerProfileUpdateRequest;
+import com.gymcrm.gym_crm_spring.dto.TrainerRegistrationRequest;
+import com.gymcrm.gym_crm_spring.dto.TrainingCreateRequest;
+import com.gymcrm.gym_crm_spring.facade.GymFacade;
+import com.gymcrm.gym_crm_spring.service.TraineeService;
+import com.gymcrm.gym_crm_spring.service.TrainerService;
+import com.gymcrm.gym_crm_spring.service.TrainingTypeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writes must move the tags of exactly the profiles whose content they change. Not
+ * {@code @Transactional}, for the same reason as {@link ProfileCacheConsistencyIntegrationTest}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProfileInvalidationScopeIntegrationTest {
+
+    @Autowired
+    private GymFacade gymFacade;
+
+    @Autowired
+    private TraineeService traineeService;
+
+    @Autowired
+    private TrainerService trainerService;
+
+    @Autowired
+    private TrainingTypeService trainingTypeService;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    private String trainee;
+    private final List<String> trainers = new ArrayList<>();
+
+    @BeforeEach
+    void register() {
+        if (trainingTypeService.findByName("Strength").isEmpty()) {
+            TrainingType strength = new TrainingType();
+            strength.setTrainingTypeName("Strength");
+            trainingTypeService.save(strength);
+        }
+        trainee = gymFacade.registerTrainee(new TraineeRegistrationRequest("Scope", "Trainee",
+                Optional.empty(), Optional.empty())).username();
+        for (String name : List.of("Kept", "Dropped", "Added", "Bystander")) {
+            trainers.add(gymFacade.registerTrainer(new TrainerRegistrationRequest("Scope", name, "Strength")).username());
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        if (traineeService.findByUsername(trainee).isPresent()) {
+            gymFacade.deleteTraineeProfile(trainee);
+        }
+        trainers.forEach(username -> trainerService.findByUsername(username)
+                .ifPresent(trainer -> trainerService.delete(trainer.getId())));
+    }
+
+    @Test
+    @DisplayName("A trainer list change moves the tags of the dropped and added trainers, not of the others")
+    void trainerListUpdateTouchesOldAndNewTrainers() {
+        String kept = trainers.get(0);
+        String dropped = trainers.get(1);
+        String added = trainers.get(2);
+        String bystander = trainers.get(3);
+        gymFacade.updateTraineeTrainerList(new TraineeTrainerListUpdateRequest(trainee, List.of(kept, dropped)));
+        assertThat(gymFacade.getTrainerProfile(dropped).trainees()).hasSize(1);
+        List<String> before = trainers.stream().map(gymFacade::getTrainerProfileVersion).toList();
+
+        gymFacade.updateTraineeTrainerList(new TraineeTrainerListUpdateRequest(trainee, List.of(kept, added)));
+
+        assertThat(gymFacade.getTrainerProfileVersion(dropped)).isNotEqualTo(before.get(1));
+        assertThat(gymFacade.getTrainerProfileVersion(added)).isNotEqualTo(before.get(2));
+        assertThat(gymFacade.getTrainerProfileVersion(bystander)).isEqualTo(before.get(3));
+        assertThat(gymFacade.getTrainerProfile(dropped).trainees()).isEmpty();
+        assertThat(gymFacade.getTrainerProfile(added).trainees()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Deleting a trainee moves the tags of its trainers only")
+    void traineeDeletionTouchesItsTrainersOnly() {
+        String assigned = trainers.get(0);
+        String bystander = trainers.get(3);
+        gymFacade.updateTraineeTrainerList(new TraineeTrainerListUpdateRequest(trainee, List.of(assigned)));
+        assertThat(gymFacade.getTrainerProfile(assigned).trainees()).hasSize(1);
+        String assignedBefore = gymFacade.getTrainerProfileVersion(assigned);
+        String bystanderBefore = gymFacade.getTrainerProfileVersion(bystander);
+
+        gymFacade.deleteTraineeProfile(trainee);
+
+        assertThat(gymFacade.getTrainerProfileVersion(assigned)).isNotEqualTo(assignedBefore);
+        assertThat(gymFacade.getTrainerProfileVersion(bystander)).isEqualTo(bystanderBefore);
+        assertThat(gymFacade.getTrainerProfile(assigned).trainees()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Only a trainee rename refreshes training lists, and only those of the trainers they trained with")
+    void traineeRenameTouchesCounterpartyHistoriesOnly() {
+        String coach = trainers.get(0);
+        String bystander = trainers.get(3);
+        gymFacade.addTraining(new TrainingCreateRequest(trainee, coach, "Scope session", LocalDate.now().plusDays(1), 60));
+        assertThat(gymFacade.getTrainerTrainingsList(coach, null, null, "Renamed").trainings()).isEmpty();
+        String coachBefore = historyTag(ProfileType.TRAINER_TRAININGS, coach);
+        String bystanderBefore = historyTag(ProfileType.TRAINER_TRAININGS, bystander);
+
+        gymFacade.updateTraineeProfile(new TraineeProfileUpdateRequest(trainee, "Scope", "Trainee",
+                Optional.empty(), Optional.of("new address"), true));
+        assertThat(historyTag(ProfileType.TRAINER_TRAININGS, coach)).isEqualTo(coachBefore);
+
+        gymFacade.updateTraineeProfile(new TraineeProfileUpdateRequest(trainee, "Renamed", "Trainee",
+                Optional.empty(), Optional.of("new address"), true));
+        assertThat(historyTag(ProfileType.TRAINER_TRAININGS, coach)).isNotEqualTo(coachBefore);
+        assertThat(historyTag(ProfileType.TRAINER_TRAININGS, bystander)).isEqualTo(bystanderBefore);
+        assertThat(gymFacade.getTrainerTrainingsList(coach, null, null, "Renamed").trainings()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Only a trainer rename refreshes training lists, and only those of the trainees they trained")
+    void trainerRenameTouchesCounterpartyHistoriesOnly() {
+        String coach = trainers.get(0);
+        String bystander = trainers.get(3);
+        gymFacade.addTraining(new TrainingCreateRequest(trainee, coach, "Scope session", LocalDate.now().plusDays(1), 60));
+        assertThat(gymFacade.getTraineeTrainings(trainee, null, null, "Renamed", null)).isEmpty();
+        String traineeBefore = historyTag(ProfileType.TRAINEE_TRAININGS, trainee);
+
+        gymFacade.updateTrainerProfile(new TrainerProfileUpdateRequest(coach, "Scope", "Kept", "Strength", false));
+        gymFacade.updateTrainerProfile(new TrainerProfileUpdateRequest(bystander, "Renamed", "Bystander", "Strength", true));
+        assertThat(historyTag(ProfileType.TRAINEE_TRAININGS, trainee)).isEqualTo(traineeBefore);
+
+        gymFacade.updateTrainerProfile(new TrainerProfileUpdateRequest(coach, "Renamed", "Kept", "Strength", true));
+        assertThat(historyTag(ProfileType.TRAINEE_TRAININGS, trainee)).isNotEqualTo(traineeBefore);
+        assertThat(gymFacade.getTraineeTrainings(trainee, null, null, "Renamed", null)).hasSize(1);
+    }
+
+    private String historyTag(ProfileType side, String username) {
+        return resourceVersions.etag(side, username);
+    }
+}
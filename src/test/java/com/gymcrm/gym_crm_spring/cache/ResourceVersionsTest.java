@@ -0,0 +1,48 @@
+package com.gymcrm.gym_crm_spring.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class ResourceVersionsTest {
+
+    private final ResourceVersions versions = new ResourceVersions(1);
+
+    @Test
+    @DisplayName("A profile whose version was evicted never gets back a tag from before its last change")
+    void evictedVersionsNeverRepeatOlderTags() {
+        List<String> usernames = IntStream.range(0, 20).mapToObj(i -> "user." + i).toList();
+        Map<String, String> beforeChange = new HashMap<>();
+        Map<String, String> afterChange = new HashMap<>();
+        for (String username : usernames) {
+            beforeChange.put(username, etag(username));
+            versions.onProfileChanged(ProfileChangedEvent.of(ProfileType.TRAINEE, username));
+            afterChange.put(username, etag(username));
+        }
+
+        // only one version fits, so the others fall back to the highest evicted one
+        await().atMost(Duration.ofSeconds(5)).until(() -> usernames.stream()
+                .anyMatch(username -> !etag(username).equals(afterChange.get(username))));
+
+        for (String username : usernames) {
+            assertThat(etag(username)).isNotEqualTo(beforeChange.get(username));
+        }
+        String evicted = usernames.stream()
+                .filter(username -> !etag(username).equals(afterChange.get(username)))
+                .findFirst().orElseThrow();
+        versions.onProfileChanged(ProfileChangedEvent.of(ProfileType.TRAINEE, evicted));
+        assertThat(etag(evicted)).isNotIn(beforeChange.get(evicted), afterChange.get(evicted));
+    }
+
+    private String etag(String username) {
+        return versions.etag(ProfileType.TRAINEE, username);
+    }
+}
@@ -0,0 +1,109 @@
+package com.gymcrm.gym_crm_spring.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight singleFlight = new SingleFlight(meterRegistry);
+
+    @Test
+    @DisplayName("Concurrent identical calls share one computation")
+    void concurrentCallsShareOneComputation() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = callConcurrently(() -> singleFlight.execute("profile", List.of("v1", "john.doe"), () -> {
+            executions.incrementAndGet();
+            await(release);
+            return "profile of john.doe";
+        }), release);
+
+        for (Future<String> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("profile of john.doe");
+        }
+        assertThat(executions).hasValue(1);
+        assertThat(count("executed") + count("coalesced")).isEqualTo(CALLERS);
+        assertThat(count("coalesced")).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    @DisplayName("Callers with a different version key do not join the flight")
+    void differentVersionsAreNotCoalesced() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger version = new AtomicInteger();
+
+        List<Future<Integer>> results = callConcurrently(() -> singleFlight.execute("profile",
+                List.of("v" + version.incrementAndGet(), "john.doe"), () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return 1;
+                }), release);
+
+        for (Future<Integer> result : results) {
+            result.get(10, TimeUnit.SECONDS);
+        }
+        assertThat(executions).hasValue(CALLERS);
+        assertThat(count("coalesced")).isZero();
+    }
+
+    @Test
+    @DisplayName("A failure is rethrown to the caller and nothing stays in flight")
+    void failureIsNotRemembered() {
+        assertThatThrownBy(() -> singleFlight.execute("profile", List.of("v1", "ghost"), () -> {
+            throw new IllegalStateException("not found");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("not found");
+
+        assertThat(singleFlight.execute("profile", List.of("v1", "ghost"), () -> "found")).isEqualTo("found");
+    }
+
+    private <T> List<Future<T>> callConcurrently(Callable<T> call, CountDownLatch release)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<T>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(call));
+            }
+            // let every caller reach the flight before the leader finishes
+            while (count("executed") + count("coalesced") < CALLERS) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private double count(String result) {
+        var counter = meterRegistry.find("gymcrm.singleflight.calls").tags("operation", "profile", "result", result).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.gymcrm.gym_crm_spring.cache;
+
+import com.gymcrm.gym_crm_spring.domain.TrainingType;
+import com.gymcrm.gym_crm_spring.dto.TraineeRegistrationRequest;
+import com.gymcrm.gym_crm_spring.dto.TrainerRegistrationRequest;
+import com.gymcrm.gym_crm_spring.dto.TrainingCreateRequest;
+import com.gymcrm.gym_crm_spring.facade.GymFacade;
+import com.gymcrm.gym_crm_spring.service.TrainerService;
+import com.gymcrm.gym_crm_spring.service.TrainingTypeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not {@code @Transactional}, for the same reason as {@link ProfileCacheConsistencyIntegrationTest}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TrainingHistoryCacheIntegrationTest {
+
+    @Autowired
+    private GymFacade gymFacade;
+
+    @Autowired
+    private TrainerService trainerService;
+
+    @Autowired
+    private TrainingTypeService trainingTypeService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String trainee;
+    private String otherTrainee;
+    private String trainer;
+
+    @BeforeEach
+    void register() {
+        if (trainingTypeService.findByName("Strength").isEmpty()) {
+            TrainingType strength = new TrainingType();
+            strength.setTrainingTypeName("Strength");
+            trainingTypeService.save(strength);
+        }
+        trainee = gymFacade.registerTrainee(new TraineeRegistrationRequest("History", "Cached",
+                Optional.empty(), Optional.empty())).username();
+        otherTrainee = gymFacade.registerTrainee(new TraineeRegistrationRequest("History", "Bystander",
+                Optional.empty(), Optional.empty())).username();
+        trainer = gymFacade.registerTrainer(new TrainerRegistrationRequest("History", "Coach", "Strength")).username();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        gymFacade.deleteTraineeProfile(trainee);
+        gymFacade.deleteTraineeProfile(otherTrainee);
+        trainerService.findByUsername(trainer).ifPresent(found -> trainerService.delete(found.getId()));
+    }
+
+    @Test
+    @DisplayName("Equivalent filters share an entry; a new training refreshes only its own trainee and trainer")
+    void addTrainingInvalidatesOnlyAffectedOwners() {
+        var otherBefore = gymFacade.getTraineeTrainings(otherTrainee, null, null, null, null);
+        assertThat(gymFacade.getTraineeTrainings(trainee, null, null, "coach", "strength")).isEmpty();
+        double hitsBefore = hits();
+        assertThat(gymFacade.getTraineeTrainings(trainee.toUpperCase(), null, null, "COACH", "Strength")).isEmpty();
+        assertThat(hits() - hitsBefore).isEqualTo(1);
+        assertThat(gymFacade.getTrainerTrainingsList(trainer, null, null, null).trainings()).isEmpty();
+
+        gymFacade.addTraining(new TrainingCreateRequest(trainee, trainer, "Cached session",
+                LocalDate.now().plusDays(1), 60));
+
+        assertThat(gymFacade.getTraineeTrainings(trainee, null, null, "coach", "strength")).hasSize(1);
+        assertThat(gymFacade.getTrainerTrainingsList(trainer, null, null, null).trainings()).hasSize(1);
+        hitsBefore = hits();
+        assertThat(gymFacade.getTraineeTrainings(otherTrainee, null, null, null, null)).isEqualTo(otherBefore);
+        assertThat(hits() - hitsBefore).isEqualTo(1);
+    }
+
+    private double hits() {
+        var counter = meterRegistry.find("cache.gets").tags("cache", "training-history", "result", "hit").functionCounter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,134 @@
+package com.gymcrm.gym_crm_spring.cache;
+
+import com.gymcrm.gym_crm_spring.datasource.ReadYourWritesTracker;
+import com.gymcrm.gym_crm_spring.security.TokenStore;
+import com.gymcrm.gym_crm_spring.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class UsernameIndexTest {
+
+    private static final String NEVER_REGISTERED = "nobody.registered";
+
+    // stands in for the users table
+    private final List<String> users = new CopyOnWriteArrayList<>(List.of("john.doe"));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReadYourWritesTracker readYourWrites = new ReadYourWritesTracker(new TokenStore(), 5_000);
+    // whether each read of the table was pinned to the primary
+    private final List<Boolean> readsOnPrimary = new CopyOnWriteArrayList<>();
+    private UsernameIndex index;
+
+    @BeforeEach
+    void createIndex() {
+        UserService userService = new UserService(null) {
+            @Override
+            public long count() {
+                readsOnPrimary.add(readYourWrites.isPinnedToPrimary());
+                return users.size();
+            }
+
+            @Override
+            public void forEachUsername(Consumer<String> action) {
+                readsOnPrimary.add(readYourWrites.isPinnedToPrimary());
+                users.forEach(action);
+            }
+        };
+        index = new UsernameIndex(userService, readYourWrites, meterRegistry, 0.01, 1_000, 1, Duration.ofHours(1), true);
+    }
+
+    @AfterEach
+    void stopIndex() {
+        index.destroy();
+    }
+
+    @Test
+    @DisplayName("Absence is only trusted while the invalidation bus keeps the index in sync")
+    void absenceRequiresClusterSync() {
+        index.buildOnStartup();
+        await().atMost(Duration.ofSeconds(5)).until(() -> indexedNames() == users.size());
+        assertThat(index.mightExist(NEVER_REGISTERED)).isTrue();
+
+        startClusterSync();
+        assertThat(index.mightExist("John.Doe")).isTrue();
+
+        index.clusterSynced(Duration.ZERO);
+        assertThat(index.mightExist(NEVER_REGISTERED)).isTrue();
+
+        index.clusterSynced(Duration.ofMinutes(1));
+        assertThat(index.mightExist(NEVER_REGISTERED)).isFalse();
+        index.clusterSyncStopped();
+        assertThat(index.mightExist(NEVER_REGISTERED)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Builds read the primary, so a lagging replica cannot drop recent registrations")
+    void buildReadsThePrimary() {
+        index.buildOnStartup();
+        await().atMost(Duration.ofSeconds(5)).until(() -> indexedNames() == users.size());
+
+        assertThat(readsOnPrimary).hasSize(2).containsOnly(true);
+    }
+
+    @Test
+    @DisplayName("A rebuild picks up users inserted without going through the index")
+    void rebuildReadsTheTable() {
+        index.buildOnStartup();
+        startClusterSync();
+        users.add("jane.roe");
+        assertThat(index.mightExist("jane.roe")).isFalse();
+
+        index.recordDeletion();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> index.mightExist("jane.roe"));
+        assertThat(index.mightExist("john.doe")).isTrue();
+        assertThat(index.mightExist(NEVER_REGISTERED)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Names added before a rebuild but not yet committed survive it")
+    void recentAdditionsAreReplayedIntoRebuilds() {
+        index.buildOnStartup();
+        startClusterSync();
+        index.add("Pending.Registration");
+        users.add("fresh.user");
+
+        index.recordDeletion();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> index.mightExist("fresh.user"));
+        assertThat(index.mightExist("pending.registration")).isTrue();
+    }
+
+    @Test
+    @DisplayName("A user registered on another node is known once the bus delivers it")
+    void crossNodeAddition() {
+        index.buildOnStartup();
+        startClusterSync();
+        assertThat(index.mightExist("remote.user")).isFalse();
+
+        // what the bus does for a TRAINEE/TRAINER row from another node
+        index.add("remote.user");
+
+        assertThat(index.mightExist("REMOTE.USER")).isTrue();
+    }
+
+    private void startClusterSync() {
+        index.clusterSyncStarted();
+        index.clusterSynced(Duration.ofMinutes(1));
+        await().atMost(Duration.ofSeconds(5)).until(() -> !index.mightExist(NEVER_REGISTERED));
+    }
+
+    private double indexedNames() {
+        return meterRegistry.get("gymcrm.username-index.size").gauge().value();
+    }
+}
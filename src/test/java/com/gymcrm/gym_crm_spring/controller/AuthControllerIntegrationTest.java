@@ -1,5 +1,6 @@
 package com.gymcrm.gym_crm_spring.controller;
 
+import com.gymcrm.gym_crm_spring.cache.UsernameIndex;
 import com.gymcrm.gym_crm_spring.dao.TraineeDao;
 import com.gymcrm.gym_crm_spring.dao.TrainerDao;
 import com.gymcrm.gym_crm_spring.dao.TrainingTypeDao;
@@ -10,7 +11,10 @@ import com.gymcrm.gym_crm_spring.dto.TraineeRegistrationRequest;
 import com.gymcrm.gym_crm_spring.dto.TraineeRegistrationResponse;
 import com.gymcrm.gym_crm_spring.dto.TrainerRegistrationRequest;
 import com.gymcrm.gym_crm_spring.dto.TrainerRegistrationResponse;
+import com.gymcrm.gym_crm_spring.exception.InvalidCredentialsException;
+import com.gymcrm.gym_crm_spring.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,14 +24,18 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -37,6 +45,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "gymcrm.username-index.enabled=true",
+        "gymcrm.cache.invalidation.enabled=true"
+})
 @Transactional
 class AuthControllerIntegrationTest {
 
@@ -61,6 +73,15 @@ class AuthControllerIntegrationTest {
     @Autowired
     private BCryptPasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UsernameIndex usernameIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
         if (trainingTypeDao.findByName("Strength").isEmpty()) {
@@ -237,6 +258,25 @@ class AuthControllerIntegrationTest {
                 .andExpect(jsonPath("$.message").value("Missing or invalid authentication credentials"));
     }
 
+    @Test
+    @DisplayName("GET /api/auth/login — unknown username is ruled out by the username index and gets the same answer as a wrong password")
+    void login_UnknownUser_Fails() throws Exception {
+        await().atMost(Duration.ofSeconds(10)).until(() -> !usernameIndex.mightExist("nobody.registered"));
+        double ruledOutBefore = ruledOutByIndex();
+
+        mockMvc.perform(get("/api/auth/login")
+                        .param("username", "nobody.registered")
+                        .param("password", "whatever"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Missing or invalid authentication credentials"));
+
+        assertThat(ruledOutByIndex() - ruledOutBefore).isEqualTo(1);
+    }
+
+    private double ruledOutByIndex() {
+        return meterRegistry.get("gymcrm.username-index.lookups").tag("result", "absent").counter().count();
+    }
+
     @Test
     @DisplayName("PUT /api/auth/change-login — change password successfully")
     void changeLogin_Success() throws Exception {
@@ -290,6 +330,28 @@ class AuthControllerIntegrationTest {
         assertThat(passwordEncoder.matches(regResponse.password(), user.getPassword())).isTrue();
     }
 
+    @Test
+    @DisplayName("Password replacement is a compare-and-set: a second change based on the same old hash is rejected")
+    void replacePassword_StaleHash_Fails() throws Exception {
+        var regRequest = new TraineeRegistrationRequest("Carol", "Racer", Optional.empty(), Optional.empty());
+        MvcResult regResult = mockMvc.perform(post("/api/auth/register/trainee")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(regRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        var regResponse = objectMapper.readValue(regResult.getResponse().getContentAsString(),
+                TraineeRegistrationResponse.class);
+        String verifiedHash = userDao.findByUsername(regResponse.username()).orElseThrow().getPassword();
+
+        userService.replacePassword(regResponse.username(), verifiedHash, passwordEncoder.encode("firstWinner1"));
+
+        assertThatThrownBy(() -> userService.replacePassword(regResponse.username(), verifiedHash,
+                passwordEncoder.encode("secondWriter2")))
+                .isInstanceOf(InvalidCredentialsException.class);
+        var user = userDao.findByUsername(regResponse.username()).orElseThrow();
+        assertThat(passwordEncoder.matches("firstWinner1", user.getPassword())).isTrue();
+    }
+
     @Test
     @DisplayName("PUT /api/auth/change-login — fail on non-existent user")
     void changeLogin_NonExistentUser_Fails() throws Exception {
@@ -0,0 +1,180 @@
+package com.gymcrm.gym_crm_spring.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gymcrm.gym_crm_spring.domain.TrainingType;
+import com.gymcrm.gym_crm_spring.dto.TraineeActivationRequest;
+import com.gymcrm.gym_crm_spring.dto.TraineeProfileUpdateRequest;
+import com.gymcrm.gym_crm_spring.dto.TraineeRegistrationRequest;
+import com.gymcrm.gym_crm_spring.dto.TraineeRegistrationResponse;
+import com.gymcrm.gym_crm_spring.dto.TraineeTrainerListUpdateRequest;
+import com.gymcrm.gym_crm_spring.dto.TrainerActivationRequest;
+import com.gymcrm.gym_crm_spring.dto.TrainerProfileUpdateRequest;
+import com.gymcrm.gym_crm_spring.dto.TrainerRegistrationRequest;
+import com.gymcrm.gym_crm_spring.dto.TrainerRegistrationResponse;
+import com.gymcrm.gym_crm_spring.dto.TrainingCreateRequest;
+import com.gymcrm.gym_crm_spring.service.TraineeService;
+import com.gymcrm.gym_crm_spring.service.TrainerService;
+import com.gymcrm.gym_crm_spring.service.TrainingTypeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not {@code @Transactional}, and open-session-in-view is off: any lazy load that happens after
+ * the service transaction has ended (in the controller or during JSON rendering) throws
+ * {@code LazyInitializationException} and turns the response into a 500.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OutsideTransactionRenderingIntegrationTest {
+
+    private static final String DOMAIN_PACKAGE = "com.gymcrm.gym_crm_spring.domain";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TrainingTypeService trainingTypeService;
+
+    @Autowired
+    private TraineeService traineeService;
+
+    @Autowired
+    private TrainerService trainerService;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    private String trainerUsername;
+    private String traineeUsername;
+    private String trainerToken;
+    private String traineeToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (trainingTypeService.findByName("Strength").isEmpty()) {
+            TrainingType tt = new TrainingType();
+            tt.setTrainingTypeName("Strength");
+            trainingTypeService.save(tt);
+        }
+
+        var trainer = objectMapper.readValue(perform(post("/api/auth/register/trainer"),
+                new TrainerRegistrationRequest("Detached", "Trainer", "Strength")), TrainerRegistrationResponse.class);
+        trainerUsername = trainer.username();
+        trainerToken = perform(get("/api/auth/login")
+                .param("username", trainer.username())
+                .param("password", trainer.password()), null);
+
+        var trainee = objectMapper.readValue(perform(post("/api/auth/register/trainee"),
+                new TraineeRegistrationRequest("Detached", "Trainee", Optional.of(LocalDate.of(1995, 5, 5)), Optional.of("Main st"))),
+                TraineeRegistrationResponse.class);
+        traineeUsername = trainee.username();
+        traineeToken = perform(get("/api/auth/login")
+                .param("username", trainee.username())
+                .param("password", trainee.password()), null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        traineeService.findByUsername(traineeUsername).ifPresent(trainee -> traineeService.deleteByUsername(traineeUsername));
+        trainerService.findByUsername(trainerUsername).ifPresent(trainer -> trainerService.delete(trainer.getId()));
+    }
+
+    @Test
+    @DisplayName("Every endpoint renders its response without touching lazy associations outside a transaction")
+    void everyEndpointRendersOutsideTransaction() throws Exception {
+        perform(put("/api/trainee/trainers").header("X-Auth-Token", traineeToken),
+                new TraineeTrainerListUpdateRequest(traineeUsername, List.of(trainerUsername)));
+        perform(post("/api/training/add").header("X-Auth-Token", traineeToken),
+                new TrainingCreateRequest(traineeUsername, trainerUsername, "Detached session", LocalDate.now().plusDays(1), 60));
+
+        perform(get("/api/trainee/profile").header("X-Auth-Token", traineeToken).param("username", traineeUsername), null);
+        perform(get("/api/trainee/trainings").header("X-Auth-Token", traineeToken).param("username", traineeUsername), null);
+        perform(get("/api/trainer/profile").header("X-Auth-Token", trainerToken).param("username", trainerUsername), null);
+        perform(get("/api/trainer/not-assigned").header("X-Auth-Token", traineeToken).param("username", traineeUsername), null);
+        perform(get("/api/trainer/trainings").header("X-Auth-Token", trainerToken).param("username", trainerUsername), null);
+        perform(get("/api/training-types").header("X-Auth-Token", traineeToken), null);
+
+        perform(put("/api/trainee/profile").header("X-Auth-Token", traineeToken),
+                new TraineeProfileUpdateRequest(traineeUsername, "Detached", "Trainee", Optional.empty(), Optional.of("Second st"), true));
+        perform(put("/api/trainer/profile").header("X-Auth-Token", trainerToken),
+                new TrainerProfileUpdateRequest(trainerUsername, "Detached", "Trainer", "Strength", true));
+        perform(patch("/api/trainee/activate").header("X-Auth-Token", traineeToken),
+                new TraineeActivationRequest(traineeUsername, true));
+        perform(patch("/api/trainer/activate").header("X-Auth-Token", trainerToken),
+                new TrainerActivationRequest(trainerUsername, true));
+    }
+
+    @Test
+    @DisplayName("No controller method returns a JPA entity")
+    void controllersReturnOnlyDtos() {
+        List<String> offenders = handlerMapping.getHandlerMethods().values().stream()
+                .filter(method -> method.getBeanType().isAnnotationPresent(RestController.class))
+                .filter(method -> referencesDomain(method.getMethod().getGenericReturnType()))
+                .map(HandlerMethod::toString)
+                .toList();
+
+        assertThat(offenders).isEmpty();
+    }
+
+    private String perform(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        if (body != null) {
+            request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+        }
+        var result = mockMvc.perform(request).andReturn();
+        var response = result.getResponse();
+        assertThat(response.getStatus())
+                .as("%s %s -> %s", result.getRequest().getMethod(), result.getRequest().getRequestURI(),
+                        response.getContentAsString())
+                .isBetween(200, 299);
+        return response.getContentAsString().trim();
+    }
+
+    private static boolean referencesDomain(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return clazz.getPackageName().startsWith(DOMAIN_PACKAGE)
+                    || (clazz.isArray() && referencesDomain(clazz.getComponentType()));
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            if (referencesDomain(parameterized.getRawType())) {
+                return true;
+            }
+            for (Type argument : parameterized.getActualTypeArguments()) {
+                if (referencesDomain(argument)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -16,6 +16,7 @@ import com.gymcrm.gym_crm_spring.dto.TrainerRegistrationResponse;
 import com.gymcrm.gym_crm_spring.dto.TrainingCreateRequest;
 import com.gymcrm.gym_crm_spring.facade.GymFacade;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -38,6 +39,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -141,6 +144,26 @@ class TraineeControllerIntegrationTest {
         assertThat(traineeOpt).isPresent();
     }
 
+    @Test
+    @DisplayName("GET /api/trainee/profile — 304 when If-None-Match carries the current ETag")
+    void getProfile_NotModified() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/trainee/profile")
+                        .header("X-Auth-Token", traineeToken)
+                        .param("username", traineeUsername))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        assertThat(etag).isNotBlank();
+
+        mockMvc.perform(get("/api/trainee/profile")
+                        .header("X-Auth-Token", traineeToken)
+                        .header("If-None-Match", etag)
+                        .param("username", traineeUsername))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+    }
+
     @Test
     @DisplayName("GET /api/trainee/profile — fail on invalid token")
     void getProfile_InvalidToken_Fails() throws Exception {
@@ -331,6 +354,26 @@ class TraineeControllerIntegrationTest {
         assertThat(trainings).hasSize(1);
     }
 
+    @Test
+    @DisplayName("GET /api/trainee/trainings — Smile when the client asks for it")
+    void getTraineeTrainings_Smile() throws Exception {
+        gymFacade.addTraining(new TrainingCreateRequest(
+                traineeUsername, trainerUsername, "Sample Training", LocalDate.now(), 60));
+
+        MvcResult result = mockMvc.perform(get("/api/trainee/trainings")
+                        .header("X-Auth-Token", traineeToken)
+                        .accept("application/x-jackson-smile")
+                        .param("username", traineeUsername))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn();
+
+        var trainings = new SmileMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertThat(trainings).hasSize(1);
+        assertThat(trainings.get(0).get("trainingName").asText()).isEqualTo("Sample Training");
+        assertThat(trainings.get(0).get("trainingDate").asText()).isEqualTo(LocalDate.now().toString());
+    }
+
     @Test
     @DisplayName("GET /api/trainee/trainings — get Trainee trainings with filters")
     void getTraineeTrainings_WithFilters() throws Exception {
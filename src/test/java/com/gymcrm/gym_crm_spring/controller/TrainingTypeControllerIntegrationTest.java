@@ -23,6 +23,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -106,6 +107,24 @@ class TrainingTypeControllerIntegrationTest {
         assertThat(types).isEmpty();
     }
 
+    @Test
+    @DisplayName("GET /api/training-types — cacheable for an hour and revalidated by ETag")
+    void getAllTrainingTypes_Cacheable() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/training-types")
+                        .header("X-Auth-Token", token)
+                        .param("username", username))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=3600, private"))
+                .andReturn();
+
+        mockMvc.perform(get("/api/training-types")
+                        .header("X-Auth-Token", token)
+                        .header("If-None-Match", first.getResponse().getHeader("ETag"))
+                        .param("username", username))
+                .andExpect(status().isNotModified())
+                .andExpect(jsonPath("$").doesNotExist());
+    }
+
     @Test
     @DisplayName("GET /api/training-types — fail on invalid token")
     void getAllTrainingTypes_InvalidToken_Fails() throws Exception {
@@ -0,0 +1,164 @@
+package com.gymcrm.gym_crm_spring.dao;
+
+import com.gymcrm.gym_crm_spring.domain.TrainingType;
+import com.gymcrm.gym_crm_spring.service.TrainingTypeService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class AbstractDaoJpaIntegrationTest {
+
+    @Autowired
+    private TrainingTypeDao trainingTypeDao;
+
+    @Autowired
+    private TrainingTypeService trainingTypeService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("The services' saveAll commits on its own and leaves the caller's entities managed")
+    void serviceSaveAllRunsInItsOwnTransaction() {
+        TrainingType callers = trainingTypeDao.save(TrainingType.builder().trainingTypeName("Caller's own").build());
+
+        List<TrainingType> saved = trainingTypeService.saveAll(List.of(
+                TrainingType.builder().trainingTypeName("Separate 1").build(),
+                TrainingType.builder().trainingTypeName("Separate 2").build()));
+        List<UUID> ids = saved.stream().map(TrainingType::getId).toList();
+        try {
+            assertThat(entityManager.contains(callers)).isTrue();
+            assertThat(saved).noneMatch(entityManager::contains);
+            assertThat(ids).allMatch(trainingTypeDao::existsById);
+        } finally {
+            var separate = new TransactionTemplate(transactionManager);
+            separate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            separate.executeWithoutResult(status -> trainingTypeDao.deleteAllById(ids));
+        }
+    }
+
+    @Test
+    @DisplayName("The services' forEach streams in its own transaction and keeps the caller's unflushed changes")
+    void serviceForEachRunsInItsOwnTransaction() {
+        // more rows than one stream batch, so the stream clears its persistence context at least once
+        List<UUID> ids = trainingTypeService.saveAll(IntStream.range(0, AbstractDaoJpa.STREAM_FETCH_SIZE + 100)
+                        .mapToObj(i -> TrainingType.builder().trainingTypeName("Streamed " + i).build())
+                        .toList())
+                .stream().map(TrainingType::getId).toList();
+        try {
+            TrainingType callers = trainingTypeDao.save(TrainingType.builder().trainingTypeName("Caller's own").build());
+            entityManager.flush();
+            callers.setTrainingTypeName("Caller's own, renamed");
+
+            AtomicLong visited = new AtomicLong();
+            trainingTypeService.forEach(type -> visited.incrementAndGet());
+
+            assertThat(visited.get()).isGreaterThanOrEqualTo(ids.size());
+            assertThat(entityManager.contains(callers)).isTrue();
+            entityManager.flush();
+            entityManager.clear();
+            assertThat(trainingTypeDao.findById(callers.getId()).orElseThrow().getTrainingTypeName())
+                    .isEqualTo("Caller's own, renamed");
+        } finally {
+            var separate = new TransactionTemplate(transactionManager);
+            separate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            separate.executeWithoutResult(status -> trainingTypeDao.deleteAllById(ids));
+        }
+    }
+
+    @Test
+    @DisplayName("New entities are persisted as given, loaded ones are merged")
+    void savePersistsNewAndMergesExisting() {
+        TrainingType type = TrainingType.builder().trainingTypeName("Pilates").build();
+        assertThat(type.isNew()).isTrue();
+
+        assertThat(trainingTypeDao.save(type)).isSameAs(type);
+        entityManager.flush();
+        assertThat(type.isNew()).isFalse();
+
+        entityManager.clear();
+        TrainingType detached = trainingTypeDao.findById(type.getId()).orElseThrow();
+        entityManager.detach(detached);
+        detached.setTrainingTypeName("Mat Pilates");
+        TrainingType merged = trainingTypeDao.save(detached);
+
+        assertThat(merged).isNotSameAs(detached).isEqualTo(detached);
+        assertThat(merged.getTrainingTypeName()).isEqualTo("Mat Pilates");
+    }
+
+    @Test
+    @DisplayName("saveAll, existsById, count and deleteAllById work without loading entities back")
+    void bulkOperations() {
+        long before = trainingTypeDao.count();
+        List<TrainingType> types = IntStream.range(0, 120)
+                .mapToObj(i -> TrainingType.builder().trainingTypeName("Bulk " + i).build())
+                .toList();
+
+        trainingTypeDao.saveAll(types);
+
+        assertThat(entityManager.contains(types.get(0))).isFalse();
+        assertThat(trainingTypeDao.count()).isEqualTo(before + 120);
+        assertThat(trainingTypeDao.existsById(types.get(119).getId())).isTrue();
+        assertThat(trainingTypeDao.existsById(UUID.randomUUID())).isFalse();
+
+        List<UUID> ids = types.stream().map(TrainingType::getId).toList();
+        assertThat(trainingTypeDao.deleteAllById(ids)).isEqualTo(120);
+        assertThat(trainingTypeDao.count()).isEqualTo(before);
+        assertThat(trainingTypeDao.deleteAllById(List.of())).isZero();
+    }
+
+    @Test
+    @DisplayName("Offset pages, keyset pages and the stream all walk the same rows in bounded chunks")
+    void pagedAndStreamedReadsCoverTheTable() {
+        trainingTypeDao.saveAll(IntStream.range(0, 1_234)
+                .mapToObj(i -> TrainingType.builder().trainingTypeName("Paged " + i).build())
+                .toList());
+        long total = trainingTypeDao.count();
+
+        List<UUID> keyset = new ArrayList<>();
+        List<TrainingType> page = trainingTypeDao.findPageAfter(null, 100);
+        while (!page.isEmpty()) {
+            assertThat(page).hasSizeLessThanOrEqualTo(100);
+            page.forEach(type -> keyset.add(type.getId()));
+            page = trainingTypeDao.findPageAfter(page.get(page.size() - 1).getId(), 100);
+        }
+        List<UUID> offsets = new ArrayList<>();
+        for (int offset = 0; offset < total; offset += 100) {
+            trainingTypeDao.findPage(offset, 100).forEach(type -> offsets.add(type.getId()));
+        }
+
+        assertThat(keyset).hasSize((int) total).doesNotHaveDuplicates().isEqualTo(offsets);
+
+        AtomicLong streamed = new AtomicLong();
+        try (Stream<TrainingType> all = trainingTypeDao.streamAll()) {
+            all.forEach(type -> {
+                assertThat(entityManager.contains(type)).isTrue();
+                streamed.incrementAndGet();
+            });
+        }
+        assertThat(streamed).hasValue(total);
+    }
+}
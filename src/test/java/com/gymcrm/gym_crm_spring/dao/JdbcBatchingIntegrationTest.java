@@ -0,0 +1,173 @@
+package com.gymcrm.gym_crm_spring.dao;
+
+import com.gymcrm.gym_crm_spring.domain.TrainingType;
+import com.gymcrm.gym_crm_spring.dto.TraineeProfileUpdateRequest;
+import com.gymcrm.gym_crm_spring.dto.TraineeRegistrationRequest;
+import com.gymcrm.gym_crm_spring.dto.TraineeTrainerListUpdateRequest;
+import com.gymcrm.gym_crm_spring.dto.TrainerRegistrationRequest;
+import com.gymcrm.gym_crm_spring.facade.GymFacade;
+import com.gymcrm.gym_crm_spring.monitoring.query.QueryStatsRegistry;
+import com.gymcrm.gym_crm_spring.monitoring.query.QueryStatsSnapshot;
+import com.gymcrm.gym_crm_spring.service.TraineeService;
+import com.gymcrm.gym_crm_spring.service.TrainerService;
+import com.gymcrm.gym_crm_spring.service.TrainingTypeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts JDBC executions per statement through the {@link QueryStatsRegistry}: a batch is
+ * one execution however many rows it carries. Not {@code @Transactional}, so the writes
+ * are flushed by the application's own commits. The invalidation bus is on, since it owns
+ * the outbox insert.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "gymcrm.cache.invalidation.enabled=true")
+class JdbcBatchingIntegrationTest {
+
+    private static final int TRAINERS = 3;
+    // the load of Trainer.assignedTrainees: join rows looked up by trainer
+    private static final Pattern TRAINEES_OF_TRAINER = Pattern.compile("trainer_id\\s*=\\s*\\?");
+
+    @Autowired
+    private GymFacade gymFacade;
+
+    @Autowired
+    private QueryStatsRegistry queryStatsRegistry;
+
+    @Autowired
+    private TraineeService traineeService;
+
+    @Autowired
+    private TrainerService trainerService;
+
+    @Autowired
+    private TrainingTypeService trainingTypeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String trainee;
+    private final List<String> trainers = new ArrayList<>();
+
+    @BeforeEach
+    void registerTrainers() {
+        if (trainingTypeService.findByName("Strength").isEmpty()) {
+            TrainingType strength = new TrainingType();
+            strength.setTrainingTypeName("Strength");
+            trainingTypeService.save(strength);
+        }
+        for (int i = 0; i < TRAINERS; i++) {
+            trainers.add(gymFacade.registerTrainer(new TrainerRegistrationRequest("Batch", "Coach" + i, "Strength")).username());
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        if (trainee != null) {
+            traineeService.deleteByUsername(trainee);
+        }
+        trainers.forEach(username -> trainerService.findByUsername(username)
+                .ifPresent(trainer -> trainerService.delete(trainer.getId())));
+    }
+
+    @Test
+    @DisplayName("Registration inserts each row once, the outbox row included")
+    void registrationWritesOneStatementPerTable() {
+        queryStatsRegistry.reset();
+
+        trainee = gymFacade.registerTrainee(new TraineeRegistrationRequest("Batch", "Trainee",
+                Optional.empty(), Optional.empty())).username();
+
+        assertThat(executions("insert into users")).isEqualTo(1);
+        assertThat(executions("insert into trainee")).isEqualTo(1);
+        assertThat(executions("insert into cache_invalidation")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Assigning several trainers writes the trainer_trainee rows in one batch")
+    void trainerListUpdateIsBatched() {
+        trainee = gymFacade.registerTrainee(new TraineeRegistrationRequest("Batch", "Trainee",
+                Optional.empty(), Optional.empty())).username();
+        queryStatsRegistry.reset();
+
+        gymFacade.updateTraineeTrainerList(new TraineeTrainerListUpdateRequest(trainee, trainers));
+
+        assertThat(executions("insert into trainer_trainee")).isEqualTo(1);
+        assertThat(gymFacade.getTraineeProfile(trainee).trainers()).hasSize(TRAINERS);
+    }
+
+    @Test
+    @DisplayName("Changing or deleting a trainee's assignments never loads a trainer's trainee list")
+    void assignmentChangesLeaveTrainerCollectionsAlone() {
+        trainee = gymFacade.registerTrainee(new TraineeRegistrationRequest("Batch", "Trainee",
+                Optional.empty(), Optional.empty())).username();
+        gymFacade.updateTraineeTrainerList(new TraineeTrainerListUpdateRequest(trainee, trainers));
+        queryStatsRegistry.reset();
+
+        gymFacade.updateTraineeTrainerList(new TraineeTrainerListUpdateRequest(trainee, trainers.subList(0, 1)));
+        gymFacade.deleteTraineeProfile(trainee);
+        trainee = null;
+
+        assertThat(queryStatsRegistry.top(1_000)).map(QueryStatsSnapshot::fingerprint)
+                .noneMatch(sql -> sql.startsWith("select") && sql.contains("from trainer_trainee")
+                        && TRAINEES_OF_TRAINER.matcher(sql).find());
+        assertThat(trainers).allSatisfy(trainer -> assertThat(gymFacade.getTrainerProfile(trainer).trainees()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("A write that publishes several invalidations inserts all outbox rows in one batch")
+    void outboxRowsAreBatched() {
+        trainee = gymFacade.registerTrainee(new TraineeRegistrationRequest("Batch", "Trainee",
+                Optional.empty(), Optional.empty())).username();
+        gymFacade.updateTraineeTrainerList(new TraineeTrainerListUpdateRequest(trainee, trainers));
+        long rowsBefore = outboxRows();
+        queryStatsRegistry.reset();
+
+        // one TRAINEE event plus one TRAINER event per assigned trainer
+        gymFacade.updateTraineeProfile(new TraineeProfileUpdateRequest(trainee, "Batch", "Trainee",
+                Optional.empty(), Optional.of("batched street"), true));
+
+        assertThat(outboxRows() - rowsBefore).isEqualTo(TRAINERS + 1);
+        assertThat(executions("insert into cache_invalidation")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("The duplicate-name check reads ids only, without loading users or specializations")
+    void nameCheckLoadsNoEntities() {
+        queryStatsRegistry.reset();
+
+        assertThat(trainerService.existsByFirstAndLastName("BATCH", "coach0")).isTrue();
+        assertThat(traineeService.existsByFirstAndLastName("Batch", "Coach0")).isFalse();
+
+        // users is only joined, never loaded on its own for the entities found
+        assertThat(queryStatsRegistry.top(1_000)).map(QueryStatsSnapshot::fingerprint)
+                .filteredOn(sql -> sql.startsWith("select"))
+                .noneMatch(sql -> sql.contains("from users") || sql.contains("from training_type"));
+    }
+
+    private long outboxRows() {
+        return jdbcTemplate.queryForObject("select count(*) from cache_invalidation", Long.class);
+    }
+
+    private long executions(String statementPrefix) {
+        return queryStatsRegistry.top(1_000).stream()
+                .filter(stats -> stats.fingerprint().startsWith(statementPrefix))
+                .mapToLong(QueryStatsSnapshot::count)
+                .sum();
+    }
+}
@@ -0,0 +1,109 @@
+package com.gymcrm.gym_crm_spring.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gymcrm.gym_crm_spring.dto.TraineeRegistrationRequest;
+import com.gymcrm.gym_crm_spring.dto.TraineeRegistrationResponse;
+import com.gymcrm.gym_crm_spring.monitoring.query.QueryStatsRegistry;
+import com.gymcrm.gym_crm_spring.monitoring.query.QueryStatsSnapshot;
+import com.gymcrm.gym_crm_spring.service.TraineeService;
+import com.gymcrm.gym_crm_spring.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Deliberately not {@code @Transactional}: a test transaction would pin one connection for
+ * the whole test and hide what the application itself does.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConnectionHoldTimeIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private QueryStatsRegistry queryStatsRegistry;
+
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TraineeService traineeService;
+
+    private TraineeRegistrationResponse credentials;
+
+    @BeforeEach
+    void registerTrainee() throws Exception {
+        var request = new TraineeRegistrationRequest("Hold", "Timer",
+                Optional.of(LocalDate.of(1990, 1, 1)), Optional.of("Pool street 1"));
+        var response = mockMvc.perform(post("/api/auth/register/trainee")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        credentials = objectMapper.readValue(response.getResponse().getContentAsString(), TraineeRegistrationResponse.class);
+    }
+
+    @AfterEach
+    void deleteTrainee() {
+        traineeService.deleteByUsername(credentials.username());
+    }
+
+    @Test
+    @DisplayName("Login holds a pooled connection only while its query runs, not during the BCrypt check")
+    void loginHoldsConnectionOnlyForTheQuery() throws Exception {
+        Timer holdTimer = meterRegistry.get("gymcrm.datasource.connection.hold").timer();
+        long checkoutsBefore = holdTimer.count();
+        double heldBeforeNanos = holdTimer.totalTime(TimeUnit.NANOSECONDS);
+        queryStatsRegistry.reset();
+
+        mockMvc.perform(get("/api/auth/login")
+                        .param("username", credentials.username())
+                        .param("password", credentials.password()))
+                .andExpect(status().isOk());
+
+        long checkouts = holdTimer.count() - checkoutsBefore;
+        double heldNanos = holdTimer.totalTime(TimeUnit.NANOSECONDS) - heldBeforeNanos;
+        double queryNanos = queryStatsRegistry.top(100).stream().mapToDouble(QueryStatsSnapshot::totalMs).sum() * 1_000_000;
+
+        String hash = userService.findByUsername(credentials.username()).orElseThrow().getPassword();
+        long bcryptStart = System.nanoTime();
+        assertThat(passwordEncoder.matches(credentials.password(), hash)).isTrue();
+        long bcryptNanos = System.nanoTime() - bcryptStart;
+
+        assertThat(checkouts).isEqualTo(1);
+        assertThat(queryNanos).isPositive();
+        assertThat(heldNanos).isGreaterThanOrEqualTo(queryNanos);
+        assertThat(heldNanos).isLessThan(bcryptNanos / 2.0);
+    }
+}
@@ -0,0 +1,129 @@
+package com.gymcrm.gym_crm_spring.datasource;
+
+import com.gymcrm.gym_crm_spring.domain.TrainingType;
+import com.gymcrm.gym_crm_spring.dto.TraineeProfileUpdateRequest;
+import com.gymcrm.gym_crm_spring.dto.TraineeRegistrationRequest;
+import com.gymcrm.gym_crm_spring.dto.TrainerRegistrationRequest;
+import com.gymcrm.gym_crm_spring.dto.TrainingCreateRequest;
+import com.gymcrm.gym_crm_spring.facade.GymFacade;
+import com.gymcrm.gym_crm_spring.service.TrainerService;
+import com.gymcrm.gym_crm_spring.service.TrainingTypeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The replica is a stub: a {@code LAGGING} schema in the test database that holds a copy of
+ * the tables taken before the writes under test, and stays behind the primary from then on.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LaggingReplicaCacheIntegrationTest {
+
+    private static final List<String> TABLES = List.of("USERS", "TRAINEE", "TRAINER", "TRAINER_TRAINEE",
+            "TRAINING_TYPE", "TRAINING");
+
+    @DynamicPropertySource
+    static void laggingReplica(DynamicPropertyRegistry registry) {
+        registry.add("gymcrm.datasource.replica.url", () ->
+                "jdbc:h2:mem:gymcrm_testdb;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS LAGGING\\;SET SCHEMA LAGGING");
+    }
+
+    @Autowired
+    private GymFacade gymFacade;
+
+    @Autowired
+    private TrainerService trainerService;
+
+    @Autowired
+    private TrainingTypeService trainingTypeService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String trainee;
+    private String trainer;
+
+    @BeforeEach
+    void registerAndSnapshot() {
+        if (trainingTypeService.findByName("Strength").isEmpty()) {
+            TrainingType strength = new TrainingType();
+            strength.setTrainingTypeName("Strength");
+            trainingTypeService.save(strength);
+        }
+        trainee = gymFacade.registerTrainee(new TraineeRegistrationRequest("Lagging", "Reader",
+                Optional.empty(), Optional.empty())).username();
+        trainer = gymFacade.registerTrainer(new TrainerRegistrationRequest("Lagging", "Coach", "Strength")).username();
+
+        JdbcTemplate primary = new JdbcTemplate(dataSource);
+        for (String table : TABLES) {
+            primary.execute("DROP TABLE IF EXISTS LAGGING." + table);
+            primary.execute("CREATE TABLE LAGGING." + table + " AS SELECT * FROM PUBLIC." + table);
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        gymFacade.deleteTraineeProfile(trainee);
+        trainerService.findByUsername(trainer).ifPresent(found -> trainerService.delete(found.getId()));
+    }
+
+    @Test
+    @DisplayName("Cache misses load from the primary, so data the replica has not caught up with is never cached under the new version")
+    void cacheFillsIgnoreLaggingReplica() {
+        gymFacade.updateTraineeProfile(new TraineeProfileUpdateRequest(trainee, "Renamed", "Reader",
+                Optional.empty(), Optional.empty(), true));
+        gymFacade.addTraining(new TrainingCreateRequest(trainee, trainer, "Primary only",
+                LocalDate.now().plusDays(1), 60));
+
+        assertThat(replicaFirstName(trainee)).isEqualTo("Lagging");
+
+        String version = gymFacade.getTraineeProfileVersion(trainee);
+        assertThat(gymFacade.getTraineeProfile(trainee).firstName()).isEqualTo("Renamed");
+        assertThat(gymFacade.getTraineeProfileVersion(trainee)).isEqualTo(version);
+        assertThat(gymFacade.getTraineeProfile(trainee).firstName()).isEqualTo("Renamed");
+        assertThat(gymFacade.getTraineeTrainings(trainee, null, null, null, null)).hasSize(1);
+        assertThat(gymFacade.getTrainerTrainingsList(trainer, null, null, null).trainings()).hasSize(1);
+    }
+
+    private String replicaFirstName(String username) {
+        var template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try (var statement = connection.prepareStatement("SELECT FIRST_NAME FROM USERS WHERE USERNAME = ?")) {
+                statement.setString(1, username);
+                try (ResultSet rows = statement.executeQuery()) {
+                    return rows.next() ? rows.getString(1) : null;
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        });
+    }
+}
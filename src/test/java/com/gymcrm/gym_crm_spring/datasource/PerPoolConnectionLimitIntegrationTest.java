@@ -0,0 +1,63 @@
+package com.gymcrm.gym_crm_spring.datasource;
+
+import com.gymcrm.gym_crm_spring.datasource.ReadWriteRoutingDataSource.Route;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "gymcrm.datasource.concurrency-limit.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=5",
+        "gymcrm.datasource.replica.url=jdbc:h2:mem:gymcrm_replica;DB_CLOSE_DELAY=-1",
+        "gymcrm.datasource.replica.hikari.maximum-pool-size=7"
+})
+class PerPoolConnectionLimitIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("With a replica, each pool is limited to its own size and replica reads take no primary permit")
+    void eachPoolHasItsOwnLimit() throws SQLException {
+        Map<Object, DataSource> targets = dataSource.unwrap(ReadWriteRoutingDataSource.class).getResolvedDataSources();
+        var primary = (ConnectionLimitingDataSource) targets.get(Route.PRIMARY);
+        var replica = (ConnectionLimitingDataSource) targets.get(Route.REPLICA);
+        assertThat(primary.availablePermits()).isEqualTo(5);
+        assertThat(replica.availablePermits()).isEqualTo(7);
+
+        var readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT 1");
+                assertThat(replica.availablePermits()).isEqualTo(6);
+                assertThat(primary.availablePermits()).isEqualTo(5);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        });
+        assertThat(replica.availablePermits()).isEqualTo(7);
+    }
+}
@@ -0,0 +1,94 @@
+package com.gymcrm.gym_crm_spring.datasource;
+
+import com.gymcrm.gym_crm_spring.security.TokenStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "gymcrm.datasource.replica.url=jdbc:h2:mem:gymcrm_replica;DB_CLOSE_DELAY=-1",
+        "gymcrm.datasource.replica.read-your-writes-window-ms=60000"
+})
+class ReadReplicaRoutingIntegrationTest {
+
+    private static final String PRIMARY = "gymcrm_testdb";
+    private static final String REPLICA = "gymcrm_replica";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TokenStore tokenStore;
+
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions are served by the replica")
+    void readOnlyTransactionUsesReplica() {
+        assertThat(databaseUrl(true)).contains(REPLICA);
+    }
+
+    @Test
+    @DisplayName("Read-write transactions go to the primary")
+    void readWriteTransactionUsesPrimary() {
+        assertThat(databaseUrl(false)).contains(PRIMARY);
+    }
+
+    @Test
+    @DisplayName("A user's reads stay on the primary right after their own write, other users keep reading the replica")
+    void readYourWritesWindow() {
+        actAs("alice.writer");
+        assertThat(databaseUrl(true)).contains(REPLICA);
+
+        databaseUrl(false);
+        assertThat(databaseUrl(true)).contains(PRIMARY);
+
+        actAs("bob.reader");
+        assertThat(databaseUrl(true)).contains(REPLICA);
+    }
+
+    private void actAs(String username) {
+        var request = new MockHttpServletRequest();
+        request.addHeader("X-Auth-Token", tokenStore.createToken(username));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private String databaseUrl(boolean readOnly) {
+        var template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try {
+                return connection.getMetaData().getURL();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        });
+    }
+}
@@ -0,0 +1,48 @@
+package com.gymcrm.gym_crm_spring.docs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Run by the {@code generateOpenApiDocs} Gradle task (excluded from {@code test}): writes the
+ * document springdoc builds from the controllers to {@code openapi.output}.
+ */
+@Tag("openapi")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OpenApiDocumentGenerationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("GET /v3/api-docs — document covers the API and is written to openapi.output")
+    void generateOpenApiDocument() throws Exception {
+        byte[] document = mockMvc.perform(get("/v3/api-docs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.paths['/api/trainee/profile']").exists())
+                .andExpect(jsonPath("$.paths['/api/training-types']").exists())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String output = System.getProperty("openapi.output");
+        assertThat(output).as("system property openapi.output").isNotBlank();
+        Path target = Path.of(output);
+        Files.createDirectories(target.getParent());
+        Files.write(target, document);
+    }
+}
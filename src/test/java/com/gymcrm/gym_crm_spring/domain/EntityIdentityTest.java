@@ -0,0 +1,107 @@
+package com.gymcrm.gym_crm_spring.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Randomized mutations of entities while they sit in hash sets: membership must survive
+ * any change to non-id state.
+ */
+class EntityIdentityTest {
+
+    private static final int ROUNDS = 200;
+    private static final int SET_SIZE = 50;
+
+    @Test
+    @DisplayName("Trainees stay findable in a HashSet whatever fields are changed")
+    void traineesSurviveMutationInSets() {
+        Random random = new Random(46);
+        for (int round = 0; round < ROUNDS; round++) {
+            List<Trainee> trainees = new ArrayList<>();
+            for (int i = 0; i < SET_SIZE; i++) {
+                trainees.add(Trainee.builder().user(user(random)).build());
+            }
+            Set<Trainee> set = new HashSet<>(trainees);
+
+            for (Trainee trainee : trainees) {
+                switch (random.nextInt(4)) {
+                    case 0 -> trainee.setAddress("street " + random.nextInt());
+                    case 1 -> trainee.setDateOfBirth(LocalDate.ofEpochDay(random.nextInt(20_000)));
+                    case 2 -> trainee.getUser().setFirstName("Name" + random.nextInt());
+                    default -> trainee.getTrainings().add(training(random, trainee));
+                }
+            }
+
+            assertThat(set).hasSize(SET_SIZE);
+            trainees.forEach(trainee -> assertThat(set).contains(trainee));
+            Trainee removed = trainees.get(random.nextInt(SET_SIZE));
+            assertThat(set.remove(removed)).isTrue();
+            assertThat(set).hasSize(SET_SIZE - 1).doesNotContain(removed);
+        }
+    }
+
+    @Test
+    @DisplayName("Trainings stay findable in a HashSet whatever fields are changed")
+    void trainingsSurviveMutationInSets() {
+        Random random = new Random(4646);
+        Trainee trainee = Trainee.builder().user(user(random)).build();
+        for (int round = 0; round < ROUNDS; round++) {
+            List<Training> trainings = new ArrayList<>();
+            for (int i = 0; i < SET_SIZE; i++) {
+                trainings.add(training(random, trainee));
+            }
+            Set<Training> set = new HashSet<>(trainings);
+
+            for (Training training : trainings) {
+                training.setTrainingName("renamed " + random.nextInt());
+                training.setTrainingDuration(10 + random.nextInt(290));
+                training.setTrainingDate(LocalDate.ofEpochDay(random.nextInt(20_000)));
+            }
+
+            trainings.forEach(training -> assertThat(set).contains(training));
+            assertThat(set.removeAll(trainings)).isTrue();
+            assertThat(set).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Ids are assigned on construction and trainees/trainers share their user's id")
+    void idsAreKnownBeforeInsert() {
+        User user = User.builder().firstName("John").lastName("Doe").build();
+        Trainer trainer = Trainer.builder().user(user).build();
+        Trainer copy = new Trainer();
+        copy.setUser(user);
+
+        assertThat(user.getId()).isNotNull();
+        assertThat(new TrainingType().getId()).isNotNull().isNotEqualTo(new TrainingType().getId());
+        assertThat(trainer.getId()).isEqualTo(user.getId());
+        assertThat(copy).isEqualTo(trainer).hasSameHashCodeAs(trainer);
+        assertThat(new Training()).isNotEqualTo(new Training());
+    }
+
+    private static User user(Random random) {
+        return User.builder()
+                .firstName("First" + random.nextInt(100))
+                .lastName("Last" + random.nextInt(100))
+                .active(random.nextBoolean())
+                .build();
+    }
+
+    private static Training training(Random random, Trainee trainee) {
+        return Training.builder()
+                .trainee(trainee)
+                .trainingName("session " + random.nextInt())
+                .trainingDate(LocalDate.ofEpochDay(random.nextInt(20_000)))
+                .trainingDuration(60)
+                .build();
+    }
+}
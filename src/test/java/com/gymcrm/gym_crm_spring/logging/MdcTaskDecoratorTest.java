@@ -0,0 +1,59 @@
+package com.gymcrm.gym_crm_spring.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MdcTaskDecoratorTest {
+
+    private final MdcTaskDecorator decorator = new MdcTaskDecorator();
+    private ExecutorService worker;
+
+    @BeforeEach
+    void startWorker() {
+        worker = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void stopWorker() throws InterruptedException {
+        MDC.clear();
+        worker.shutdownNow();
+        assertThat(worker.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("The task sees the submitting thread's MDC, captured when it was decorated")
+    void contextIsPropagated() throws Exception {
+        MDC.put(TransactionLoggingFilter.TRANSACTION_ID, "tx-1");
+        Runnable task = decorator.decorate(() -> assertThat(MDC.get(TransactionLoggingFilter.TRANSACTION_ID)).isEqualTo("tx-1"));
+        MDC.put(TransactionLoggingFilter.TRANSACTION_ID, "tx-2");
+
+        worker.submit(task).get(5, TimeUnit.SECONDS);
+
+        assertThat(MDC.get(TransactionLoggingFilter.TRANSACTION_ID)).isEqualTo("tx-2");
+    }
+
+    @Test
+    @DisplayName("The worker's own MDC is restored afterwards, and a task submitted without one sees none")
+    void workerContextIsRestored() throws Exception {
+        worker.submit(() -> MDC.put("worker", "pool-1")).get(5, TimeUnit.SECONDS);
+
+        MDC.put(TransactionLoggingFilter.TRANSACTION_ID, "tx-1");
+        worker.submit(decorator.decorate(() -> assertThat(MDC.getCopyOfContextMap())
+                .isEqualTo(Map.of(TransactionLoggingFilter.TRANSACTION_ID, "tx-1")))).get(5, TimeUnit.SECONDS);
+        assertThat(worker.submit(MDC::getCopyOfContextMap).get(5, TimeUnit.SECONDS)).isEqualTo(Map.of("worker", "pool-1"));
+
+        MDC.clear();
+        worker.submit(decorator.decorate(() -> assertThat(MDC.get("worker")).isNull())).get(5, TimeUnit.SECONDS);
+        assertThat(worker.submit(() -> MDC.get("worker")).get(5, TimeUnit.SECONDS)).isEqualTo("pool-1");
+    }
+}
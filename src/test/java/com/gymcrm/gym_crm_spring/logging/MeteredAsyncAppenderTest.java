@@ -0,0 +1,97 @@
+package com.gymcrm.gym_crm_spring.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The dropped-event counters are static, so assertions compare against the value
+ * before each test.
+ */
+class MeteredAsyncAppenderTest {
+
+    private static final int QUEUE_SIZE = 10;
+    private static final int EVENTS = 20;
+
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger delivered = new AtomicInteger();
+    private MeteredAsyncAppender appender;
+
+    @BeforeEach
+    void startAppender() {
+        AppenderBase<ILoggingEvent> slowAppender = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                delivered.incrementAndGet();
+            }
+        };
+        slowAppender.setContext(loggerContext);
+        slowAppender.start();
+
+        appender = new MeteredAsyncAppender();
+        appender.setContext(loggerContext);
+        appender.setQueueSize(QUEUE_SIZE);
+        // discard TRACE/DEBUG/INFO once three events are waiting
+        appender.setDiscardingThreshold(QUEUE_SIZE - 2);
+        appender.addAppender(slowAppender);
+        appender.start();
+    }
+
+    @AfterEach
+    void stopAppender() {
+        release.countDown();
+        appender.stop();
+    }
+
+    @Test
+    @DisplayName("Events discarded on a full queue are counted per level and published as a metric")
+    void droppedEventsAreCounted() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        new LoggingMetrics(meterRegistry).onApplicationEvent(null);
+        long infoBefore = MeteredAsyncAppender.droppedCount(Level.INFO);
+        long debugBefore = MeteredAsyncAppender.droppedCount(Level.DEBUG);
+        double metricBefore = meterRegistry.get("gymcrm.logging.events.dropped").tag("level", "INFO")
+                .functionCounter().count();
+
+        for (int i = 0; i < EVENTS; i++) {
+            appender.doAppend(event(Level.INFO, "info " + i));
+        }
+        appender.doAppend(event(Level.WARN, "never discarded"));
+
+        long droppedInfo = MeteredAsyncAppender.droppedCount(Level.INFO) - infoBefore;
+        // at most one event in the slow appender and three waiting in the queue
+        assertThat(droppedInfo).isGreaterThanOrEqualTo(EVENTS - 4);
+        assertThat(MeteredAsyncAppender.droppedCount(Level.DEBUG)).isEqualTo(debugBefore);
+        assertThat(MeteredAsyncAppender.droppedCount(Level.WARN)).isZero();
+        assertThat(meterRegistry.get("gymcrm.logging.events.dropped").tag("level", "INFO")
+                .functionCounter().count() - metricBefore).isEqualTo(droppedInfo);
+
+        release.countDown();
+        appender.stop();
+        assertThat(delivered.get()).isEqualTo(EVENTS + 1 - droppedInfo);
+    }
+
+    private LoggingEvent event(Level level, String message) {
+        return new LoggingEvent(MeteredAsyncAppenderTest.class.getName(), loggerContext.getLogger("test"),
+                level, message, null, null);
+    }
+}
@@ -0,0 +1,97 @@
+package com.gymcrm.gym_crm_spring.logging;
+
+import com.gymcrm.gym_crm_spring.domain.Trainer;
+import com.gymcrm.gym_crm_spring.domain.User;
+import com.gymcrm.gym_crm_spring.dto.ChangePasswordRequest;
+import com.gymcrm.gym_crm_spring.dto.LoginRequest;
+import com.gymcrm.gym_crm_spring.service.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SafeLogRendererTest {
+
+    private final SafeLogRenderer renderer = new SafeLogRenderer(512, 3);
+
+    @Test
+    @DisplayName("Password and token arguments are masked whatever their case")
+    void secretArgumentsAreMasked() {
+        String rendered = renderer.renderArgs(new String[]{"username", "password", "Token", "newPassword"},
+                new Object[]{"john.doe", "s3cret", "abc-123", "n3w"});
+
+        assertThat(rendered).isEqualTo("[username=john.doe, password=******, Token=******, newPassword=******]");
+        assertThat(renderer.renderArgs(null, new Object[]{"s3cret"})).isEqualTo("[s3cret]");
+    }
+
+    @Test
+    @DisplayName("Password hashes passed to UserService.replacePassword are masked")
+    void passwordHashArgumentsAreMasked() throws NoSuchMethodException {
+        Method method = UserService.class.getMethod("replacePassword", String.class, String.class, String.class);
+        String[] names = new DefaultParameterNameDiscoverer().getParameterNames(method);
+        String storedHash = "$2a$10$storedstoredstoredstoredstoredstoredstoredstoredstor";
+        String newHash = "$2a$10$newnewnewnewnewnewnewnewnewnewnewnewnewnewnewnewnew";
+
+        String rendered = renderer.renderArgs(names, new Object[]{"john.doe", storedHash, newHash});
+
+        assertThat(rendered).isEqualTo("[username=john.doe, expectedHash=******, newHash=******]")
+                .doesNotContain(storedHash).doesNotContain(newHash);
+        assertThat(renderer.renderArgs(new String[]{"passwordHash", "secret"}, new Object[]{"h", "s"}))
+                .isEqualTo("[passwordHash=******, secret=******]");
+    }
+
+    @Test
+    @DisplayName("Secret record components are masked, also inside collections")
+    void secretRecordComponentsAreMasked() {
+        assertThat(renderer.render(new ChangePasswordRequest("john.doe", "old", "new")))
+                .isEqualTo("ChangePasswordRequest[username=john.doe, oldPassword=******, newPassword=******]");
+        assertThat(renderer.renderArgs(new String[]{"requests"}, new Object[]{List.of(new LoginRequest("john.doe", "s3cret"))}))
+                .isEqualTo("[requests=size=1 [LoginRequest[username=john.doe, password=******]]]")
+                .doesNotContain("s3cret");
+    }
+
+    @Test
+    @DisplayName("Output longer than the limit is cut and marked as truncated")
+    void longOutputIsTruncated() {
+        SafeLogRenderer shortRenderer = new SafeLogRenderer(20, 3);
+
+        assertThat(shortRenderer.render("x".repeat(50))).isEqualTo("x".repeat(20) + "...(truncated)");
+        assertThat(shortRenderer.render("x".repeat(20))).isEqualTo("x".repeat(20));
+        assertThat(shortRenderer.renderArgs(new String[]{"a", "b", "c"}, new Object[]{"x".repeat(15), "never", "rendered"}))
+                .isEqualTo("[a=" + "x".repeat(15) + ", ...(truncated)");
+    }
+
+    @Test
+    @DisplayName("Collections, maps and arrays show their size but at most the configured number of elements")
+    void elementsAreCapped() {
+        assertThat(renderer.render(List.of(1, 2, 3, 4, 5))).isEqualTo("size=5 [1, 2, 3, ...]");
+        assertThat(renderer.render(List.of(1, 2, 3))).isEqualTo("size=3 [1, 2, 3]");
+        assertThat(renderer.render(Map.of("key", 1))).isEqualTo("size=1 [key=1]");
+        assertThat(renderer.render(new String[]{"a", "b", "c", "d"})).isEqualTo("String[] size=4 [a, b, c, ...]");
+        assertThat(renderer.render(new byte[64])).isEqualTo("byte[] size=64");
+    }
+
+    @Test
+    @DisplayName("Nesting stops at the depth limit with just the size")
+    void nestingIsBounded() {
+        assertThat(renderer.render(List.of(List.of(List.of(List.of(1))))))
+                .isEqualTo("size=1 [size=1 [size=1 [size=1]]]");
+    }
+
+    @Test
+    @DisplayName("Entities render as Name#id and other objects by class name, never through toString()")
+    void entitiesAndUnknownTypes() {
+        User user = User.builder().firstName("John").lastName("Doe").password("s3cret").build();
+        Trainer trainer = Trainer.builder().user(user).build();
+
+        assertThat(renderer.render(trainer)).isEqualTo("Trainer#" + user.getId());
+        assertThat(renderer.render(Optional.of("s3cret"))).isEqualTo("Optional");
+        assertThat(renderer.render(null)).isEqualTo("null");
+    }
+}
@@ -0,0 +1,110 @@
+package com.gymcrm.gym_crm_spring.monitoring.profiling;
+
+import com.gymcrm.gym_crm_spring.security.TokenStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Admin-only actuator endpoints (jfr, slowqueries, spans) through {@code AdminAccessVerifier}.
+ * Tokens are issued straight from the {@link TokenStore}; the verifier only looks at the
+ * username behind them.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "gymcrm.security.admin-usernames=Ops.Admin, other.admin",
+        "gymcrm.tracing.enabled=true"
+})
+class AdminEndpointAccessIntegrationTest {
+
+    private static final List<String> ADMIN_ENDPOINTS = List.of("/actuator/jfr", "/actuator/slowqueries", "/actuator/spans");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenStore tokenStore;
+
+    @Autowired
+    private JfrRecordingEndpoint jfrRecordingEndpoint;
+
+    private String adminToken;
+    private String userToken;
+
+    @BeforeEach
+    void issueTokens() {
+        adminToken = tokenStore.createToken("ops.admin");
+        userToken = tokenStore.createToken("john.doe");
+    }
+
+    @AfterEach
+    void discardRecording() {
+        tokenStore.invalidateToken(adminToken);
+        tokenStore.invalidateToken(userToken);
+        jfrRecordingEndpoint.destroy();
+    }
+
+    @Test
+    @DisplayName("Requests without a token, or with an unknown one, get 401")
+    void missingTokenIsUnauthenticated() throws Exception {
+        for (String endpoint : ADMIN_ENDPOINTS) {
+            mockMvc.perform(get(endpoint)).andExpect(status().isUnauthorized());
+            mockMvc.perform(get(endpoint).header("X-Auth-Token", " ")).andExpect(status().isUnauthorized());
+            mockMvc.perform(get(endpoint).header("X-Auth-Token", "unknown-token")).andExpect(status().isUnauthorized());
+        }
+        mockMvc.perform(post("/actuator/jfr").contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(delete("/actuator/slowqueries")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("A valid token of a user who is not an admin gets 403")
+    void nonAdminIsForbidden() throws Exception {
+        for (String endpoint : ADMIN_ENDPOINTS) {
+            mockMvc.perform(get(endpoint).header("X-Auth-Token", userToken)).andExpect(status().isForbidden());
+        }
+        mockMvc.perform(post("/actuator/jfr").header("X-Auth-Token", userToken)
+                        .contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/actuator/jfr").header("X-Auth-Token", userToken)).andExpect(status().isForbidden());
+        mockMvc.perform(delete("/actuator/slowqueries").header("X-Auth-Token", userToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("An admin token, matched case-insensitively, is let through to the operation")
+    void adminIsGranted() throws Exception {
+        mockMvc.perform(get("/actuator/jfr").header("X-Auth-Token", adminToken)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/actuator/slowqueries").header("X-Auth-Token", adminToken)).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/spans").header("X-Auth-Token", adminToken)).andExpect(status().isOk());
+        mockMvc.perform(delete("/actuator/slowqueries").header("X-Auth-Token", adminToken))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(post("/actuator/jfr").header("X-Auth-Token", adminToken)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"profile\": \"default\", \"durationSeconds\": 60}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.profile").value("default"));
+        mockMvc.perform(delete("/actuator/jfr").header("X-Auth-Token", adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("STOPPED"));
+    }
+}
@@ -0,0 +1,58 @@
+package com.gymcrm.gym_crm_spring.monitoring.query;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryStatsRegistryTest {
+
+    private static final int MAX_FINGERPRINTS = 2;
+
+    private final QueryStatsRegistry registry = new QueryStatsRegistry(60_000, MAX_FINGERPRINTS,
+            new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+
+    @Test
+    @DisplayName("Statements differing only in literals are counted under one fingerprint")
+    void literalsShareStats() {
+        registry.record("select * from users where id = 1", millis(1));
+        registry.record("select * from users where id = 2", millis(3));
+
+        assertThat(registry.top(10)).singleElement().satisfies(stats -> {
+            assertThat(stats.fingerprint()).isEqualTo("select * from users where id = ?");
+            assertThat(stats.count()).isEqualTo(2);
+            assertThat(stats.totalMs()).isEqualTo(4.0);
+            assertThat(stats.maxMs()).isEqualTo(3.0);
+        });
+    }
+
+    @Test
+    @DisplayName("Past the fingerprint cap new statements are pooled, known ones keep their own entry")
+    void fingerprintsAreCapped() {
+        registry.record("select * from users", millis(1));
+        registry.record("select * from trainee", millis(1));
+        registry.record("select * from trainer", millis(1));
+        registry.record("select * from training", millis(1));
+        registry.record("select * from users", millis(1));
+
+        Map<String, Long> counts = registry.top(10).stream()
+                .collect(Collectors.toMap(QueryStatsSnapshot::fingerprint, QueryStatsSnapshot::count));
+        assertThat(counts).containsOnly(
+                Map.entry("select * from users", 2L),
+                Map.entry("select * from trainee", 1L),
+                Map.entry(QueryStatsRegistry.OVERFLOW_FINGERPRINT, 2L));
+
+        registry.reset();
+        assertThat(registry.top(10)).isEmpty();
+    }
+
+    private static long millis(long ms) {
+        return TimeUnit.MILLISECONDS.toNanos(ms);
+    }
+}
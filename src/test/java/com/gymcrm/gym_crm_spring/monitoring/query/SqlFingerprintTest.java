@@ -0,0 +1,37 @@
+package com.gymcrm.gym_crm_spring.monitoring.query;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlFingerprintTest {
+
+    @Test
+    @DisplayName("String and numeric literals become placeholders, identifiers with digits are kept")
+    void literalsAreReplaced() {
+        assertThat(SqlFingerprint.of("SELECT t1_0.id FROM users t1_0 WHERE t1_0.username = 'O''Brien' AND t1_0.age > -42.5"))
+                .isEqualTo("select t1_0.id from users t1_0 where t1_0.username = ? and t1_0.age > ?");
+        assertThat(SqlFingerprint.of("select * from users where username = 'john.doe'"))
+                .isEqualTo(SqlFingerprint.of("select * from users where username = 'jane.roe'"));
+    }
+
+    @Test
+    @DisplayName("IN-lists of any length share one fingerprint")
+    void inListsCollapse() {
+        String fingerprint = SqlFingerprint.of("delete from training where id in (1, 2, 3)");
+
+        assertThat(fingerprint).isEqualTo("delete from training where id in (?)");
+        assertThat(SqlFingerprint.of("delete from training where id in (?,?)")).isEqualTo(fingerprint);
+        assertThat(SqlFingerprint.of("delete from training where id in ( ? )")).isEqualTo("delete from training where id in ( ? )");
+    }
+
+    @Test
+    @DisplayName("Whitespace and case are normalized")
+    void whitespaceIsNormalized() {
+        assertThat(SqlFingerprint.of("  SELECT\n    u.username\tFROM   users u  "))
+                .isEqualTo("select u.username from users u");
+        assertThat(SqlFingerprint.of("   ")).isEmpty();
+        assertThat(SqlFingerprint.of(null)).isEmpty();
+    }
+}
@@ -0,0 +1,51 @@
+package com.gymcrm.gym_crm_spring.tracing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemorySpanExporterTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    @DisplayName("The ring buffer keeps the newest spans, newest first")
+    void oldestSpansAreOverwritten() {
+        InMemorySpanExporter exporter = new InMemorySpanExporter(3);
+        assertThat(exporter.recentSpans()).isEmpty();
+
+        for (int i = 0; i < 5; i++) {
+            exporter.export(span("trace-" + i, "span-" + i, i));
+        }
+
+        assertThat(exporter.recentSpans()).extracting(Span::spanId).containsExactly("span-4", "span-3", "span-2");
+    }
+
+    @Test
+    @DisplayName("Traces come newest first, capped at the limit, with spans in start order")
+    void recentTracesAreGroupedAndLimited() {
+        InMemorySpanExporter exporter = new InMemorySpanExporter(16);
+        // children finish, and are exported, before their parents
+        exporter.export(span("old", "old-child", 1));
+        exporter.export(span("old", "old-root", 0));
+        exporter.export(span("new", "new-child", 3));
+        exporter.export(span("new", "new-root", 2));
+
+        Map<String, List<Span>> traces = exporter.recentTraces(10);
+        assertThat(traces.keySet()).containsExactly("new", "old");
+        assertThat(traces.get("new")).extracting(Span::spanId).containsExactly("new-root", "new-child");
+        assertThat(traces.get("old")).extracting(Span::spanId).containsExactly("old-root", "old-child");
+
+        assertThat(exporter.recentTraces(1)).containsOnlyKeys("new");
+    }
+
+    private static Span span(String traceId, String spanId, int startOffsetMillis) {
+        return new Span(traceId, spanId, null, spanId, SpanKind.INTERNAL, START.plusMillis(startOffsetMillis),
+                100, "main", null, Map.of());
+    }
+}
@@ -0,0 +1,94 @@
+package com.gymcrm.gym_crm_spring.tracing;
+
+import com.gymcrm.gym_crm_spring.logging.TransactionLoggingFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TracerTest {
+
+    private final List<Span> exported = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void clearMdc() {
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Nested spans share the trace id, point at their parent and restore it on close")
+    void spansNest() {
+        Tracer tracer = tracer(exported::add);
+
+        try (ActiveSpan request = tracer.start("GET /trainees", SpanKind.SERVER)) {
+            try (ActiveSpan facade = tracer.start("GymFacade.getTraineeProfile", SpanKind.INTERNAL)) {
+                tracer.start("TraineeDao.findByUsername", SpanKind.CLIENT).close();
+                facade.attribute("username", "john.doe").attribute("ignored", null);
+            }
+            tracer.start("after facade", SpanKind.INTERNAL).close();
+            assertThat(request.traceId()).isNotBlank();
+        }
+
+        assertThat(exported).extracting(Span::name).containsExactly("TraineeDao.findByUsername",
+                "GymFacade.getTraineeProfile", "after facade", "GET /trainees");
+        Span dao = exported.get(0);
+        Span facade = exported.get(1);
+        Span sibling = exported.get(2);
+        Span request = exported.get(3);
+        assertThat(exported).extracting(Span::traceId).containsOnly(request.traceId());
+        assertThat(request.parentSpanId()).isNull();
+        assertThat(facade.parentSpanId()).isEqualTo(request.spanId());
+        assertThat(dao.parentSpanId()).isEqualTo(facade.spanId());
+        assertThat(sibling.parentSpanId()).isEqualTo(request.spanId());
+        assertThat(facade.attributes()).containsOnlyKeys("username");
+
+        tracer.start("next request", SpanKind.SERVER).close();
+        assertThat(exported.get(4).parentSpanId()).isNull();
+        assertThat(exported.get(4).traceId()).isNotEqualTo(request.traceId());
+    }
+
+    @Test
+    @DisplayName("The trace id is the request's transaction id, and closing a span twice exports it once")
+    void traceIdFollowsTransactionId() {
+        Tracer tracer = tracer(exported::add);
+        MDC.put(TransactionLoggingFilter.TRANSACTION_ID, "tx-42");
+
+        ActiveSpan span = tracer.start("POST /trainings", SpanKind.SERVER);
+        span.recordError(new IllegalStateException("boom"));
+        span.close();
+        span.close();
+
+        assertThat(exported).singleElement().satisfies(finished -> {
+            assertThat(finished.traceId()).isEqualTo("tx-42");
+            assertThat(finished.error()).isEqualTo("IllegalStateException: boom");
+        });
+    }
+
+    @Test
+    @DisplayName("A failing exporter neither breaks the traced call nor starves the other exporters")
+    void failingExporterIsIsolated() {
+        Tracer tracer = tracer(span -> {
+            throw new IllegalStateException("exporter down");
+        }, exported::add);
+
+        try (ActiveSpan outer = tracer.start("outer", SpanKind.SERVER)) {
+            tracer.start("inner", SpanKind.INTERNAL).close();
+        }
+
+        assertThat(exported).extracting(Span::name).containsExactly("inner", "outer");
+    }
+
+    private static Tracer tracer(SpanExporter... exporters) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        for (int i = 0; i < exporters.length; i++) {
+            beanFactory.addBean("exporter" + i, exporters[i]);
+        }
+        return new Tracer(beanFactory.getBeanProvider(SpanExporter.class));
+    }
+}
@@ -0,0 +1,32 @@
+package com.gymcrm.gym_crm_spring.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7Test {
+
+    @Test
+    @DisplayName("Ids carry version 7, the RFC variant and the current time, and sort in generation order")
+    void idsAreTimeOrdered() {
+        long before = System.currentTimeMillis();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(UuidV7.generate());
+        }
+
+        UUID first = ids.get(0);
+        assertThat(first.version()).isEqualTo(7);
+        assertThat(first.variant()).isEqualTo(2);
+        assertThat(UuidV7.timestamp(first)).isBetween(before, System.currentTimeMillis());
+        // string order is what PostgreSQL's uuid comparison follows
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(ids.get(i).toString()).isGreaterThan(ids.get(i - 1).toString());
+        }
+    }
+}